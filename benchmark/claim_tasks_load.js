@@ -0,0 +1,97 @@
+// Load test comparing two ways for team members to pick up work. Run once per mode against a fresh team:
+//   k6 run -e BASE_URL=http://localhost:8085 -e MODE=pick --summary-export=target/k6-pick.json benchmark/claim_tasks_load.js
+//   k6 run -e BASE_URL=http://localhost:8085 -e MODE=claim --summary-export=target/k6-claim.json benchmark/claim_tasks_load.js
+// pick reads the team view, chooses a random unassigned task and assigns it. claim calls the claim-next endpoint.
+// Compare the tasks_claimed and claim_conflicts counters and the request durations.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8085';
+const MODE = __ENV.MODE || 'claim';
+const TASKS = Number(__ENV.TASKS || 2000);
+const MEMBERS = Number(__ENV.MEMBERS || 50);
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+const tasksClaimed = new Counter('tasks_claimed');
+const claimConflicts = new Counter('claim_conflicts');
+
+export const options = {
+    scenarios: {
+        claimers: {
+            executor: 'constant-vus',
+            vus: MEMBERS,
+            duration: '1m',
+        },
+    },
+};
+
+function idFromLocation(response) {
+    const location = response.headers['Location'];
+    return location.substring(location.lastIndexOf('/') + 1);
+}
+
+export function setup() {
+    const project = http.post(`${BASE_URL}/projects`, JSON.stringify({
+        name: 'claim load',
+        description: 'claim next task load test',
+        estimatedEndDate: '2030-12-31',
+        estimation: { hours: 100000, minutes: 0 },
+        contactPersonInput: { name: 'Load Test', email: 'load.test@example.com' },
+    }), JSON_HEADERS);
+    const projectId = idFromLocation(project);
+    const projectTaskIds = [];
+    for (let added = 0; added < TASKS; added += 1000) {
+        const batch = [];
+        for (let i = added; i < Math.min(TASKS, added + 1000); i++) {
+            batch.push({ name: `task ${i}`, description: 'claimable', estimation: { hours: 1, minutes: 0 } });
+        }
+        const response = http.post(`${BASE_URL}/projects/${projectId}/tasks:batch`, JSON.stringify(batch), JSON_HEADERS);
+        projectTaskIds.push(...response.json());
+    }
+    const team = http.post(`${BASE_URL}/teams`, JSON.stringify({ name: 'claim team' }), JSON_HEADERS);
+    const teamId = idFromLocation(team);
+    const members = [];
+    for (let i = 0; i < MEMBERS; i++) {
+        const member = http.post(`${BASE_URL}/teams/${teamId}/members`, JSON.stringify({ name: `member ${i}`, profession: 'tester' }), JSON_HEADERS);
+        members.push(idFromLocation(member));
+    }
+    for (const projectTaskId of projectTaskIds) {
+        http.post(`${BASE_URL}/teams/${teamId}/tasks/by-project-id/${projectTaskId}`, null, JSON_HEADERS);
+    }
+    return { teamId, members };
+}
+
+function claim(data, memberId) {
+    const response = http.post(`${BASE_URL}/teams/${data.teamId}/tasks/claim-next`, JSON.stringify({ assigneeId: memberId }),
+        { headers: JSON_HEADERS.headers, tags: { name: 'POST /teams/{id}/tasks/claim-next' } });
+    check(response, { 'claim answered': r => r.status === 200 || r.status === 204 });
+    if (response.status === 200) {
+        tasksClaimed.add(1);
+    }
+}
+
+function pick(data, memberId) {
+    const view = http.get(`${BASE_URL}/teams/${data.teamId}`, { tags: { name: 'GET /teams/{id}' } });
+    const unassigned = view.json('tasks').filter(task => task.status === 'NOT_ASSIGNED');
+    if (unassigned.length === 0) {
+        return;
+    }
+    const task = unassigned[Math.floor(Math.random() * unassigned.length)];
+    const response = http.patch(`${BASE_URL}/teams/${data.teamId}/tasks/${task.id}/assignee`, JSON.stringify({ assigneeId: memberId }),
+        { headers: JSON_HEADERS.headers, tags: { name: 'PATCH /teams/{id}/tasks/{taskId}/assignee' } });
+    if (response.status === 204) {
+        tasksClaimed.add(1);
+    } else {
+        claimConflicts.add(1);
+    }
+}
+
+export default function (data) {
+    const memberId = data.members[(__VU - 1) % data.members.length];
+    if (MODE === 'pick') {
+        pick(data, memberId);
+    } else {
+        claim(data, memberId);
+    }
+}
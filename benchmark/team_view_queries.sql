@@ -0,0 +1,66 @@
+-- Compares the former single team view query (members and tasks joined onto the team) with the separate
+-- team, members and tasks queries now used by GET /teams/{id}.
+-- Run against the docker compose database, for example:
+--   psql -h localhost -p 5435 -U user -d mydb -v members=40 -v tasks=2000 -f benchmark/team_view_queries.sql
+-- The synthetic team is created inside a transaction that is rolled back at the end.
+
+\if :{?members}
+\else
+\set members 40
+\endif
+\if :{?tasks}
+\else
+\set tasks 2000
+\endif
+
+BEGIN;
+SET LOCAL search_path TO project_demo_jpa;
+
+INSERT INTO teams (id, name, version)
+VALUES ('00000000-0000-0000-0000-00000000beef', 'benchmark team', 0);
+
+INSERT INTO team_members (id, team_id, name, profession)
+SELECT gen_random_uuid(), '00000000-0000-0000-0000-00000000beef', 'member ' || g, 'developer'
+FROM generate_series(1, :members) g;
+
+INSERT INTO team_tasks (id, team_id, project_task_id, name, description, status)
+SELECT gen_random_uuid(), '00000000-0000-0000-0000-00000000beef', gen_random_uuid(), 'task ' || g, md5(g::text), 'NOT_ASSIGNED'
+FROM generate_series(1, :tasks) g;
+
+ANALYZE teams;
+ANALYZE team_members;
+ANALYZE team_tasks;
+
+\echo 'before: members x tasks in one statement'
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY)
+SELECT t.id, t.name, t.version,
+       m.id, m.name, m.profession,
+       tt.id, tt.name, tt.description, tt.project_task_id, tt.status, tt.assignee_id,
+       tt.actual_time_spent_hours, tt.actual_time_spent_minutes
+FROM teams t
+LEFT JOIN team_members m ON t.id = m.team_id
+LEFT JOIN team_tasks tt ON t.id = tt.team_id
+WHERE t.id = '00000000-0000-0000-0000-00000000beef';
+
+\echo 'after: team'
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY)
+SELECT t.id, t.name, t.version
+FROM teams t
+WHERE t.id = '00000000-0000-0000-0000-00000000beef';
+
+\echo 'after: members'
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY)
+SELECT m.id, m.name, m.profession
+FROM team_members m
+WHERE m.team_id = '00000000-0000-0000-0000-00000000beef'
+ORDER BY m.id;
+
+\echo 'after: tasks'
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY)
+SELECT tt.id, tt.name, tt.description, tt.project_task_id, tt.status, tt.assignee_id,
+       tt.actual_time_spent_hours, tt.actual_time_spent_minutes
+FROM team_tasks tt
+WHERE tt.team_id = '00000000-0000-0000-0000-00000000beef'
+ORDER BY tt.id;
+
+ROLLBACK;
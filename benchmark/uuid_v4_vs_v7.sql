@@ -0,0 +1,47 @@
+-- Compares insert throughput and primary key index size of random (v4) and time ordered (v7) UUID keys.
+-- Run against the docker compose database, for example:
+--   psql -h localhost -p 5435 -U user -d mydb -v rows=5000000 -f benchmark/uuid_v4_vs_v7.sql
+-- The difference grows once the index no longer fits in shared_buffers.
+
+\if :{?rows}
+\else
+\set rows 2000000
+\endif
+
+CREATE SCHEMA IF NOT EXISTS uuid_benchmark;
+SET search_path TO uuid_benchmark;
+
+-- UUIDv7 from the unix epoch milliseconds and the random bits of a v4 value (version bits switched from 4 to 7)
+CREATE OR REPLACE FUNCTION uuid_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS keys_v4;
+DROP TABLE IF EXISTS keys_v7;
+CREATE TABLE keys_v4 (id UUID PRIMARY KEY, payload TEXT NOT NULL);
+CREATE TABLE keys_v7 (id UUID PRIMARY KEY, payload TEXT NOT NULL);
+
+\timing on
+\echo 'insert v4'
+INSERT INTO keys_v4 SELECT gen_random_uuid(), md5(g::text) FROM generate_series(1, :rows) g;
+\echo 'insert v7'
+INSERT INTO keys_v7 SELECT uuid_v7(), md5(g::text) FROM generate_series(1, :rows) g;
+\timing off
+
+SELECT c.relname AS index_name,
+       pg_size_pretty(pg_relation_size(c.oid)) AS index_size,
+       pg_relation_size(c.oid) / current_setting('block_size')::int AS pages
+FROM pg_class c
+WHERE c.relname IN ('keys_v4_pkey', 'keys_v7_pkey')
+  AND c.relnamespace = 'uuid_benchmark'::regnamespace
+ORDER BY c.relname;
+
+DROP SCHEMA uuid_benchmark CASCADE;
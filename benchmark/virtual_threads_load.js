@@ -0,0 +1,76 @@
+// Load test comparing platform and virtual request threads. Run once against the application started with
+// VIRTUAL_THREADS=false and once with VIRTUAL_THREADS=true, then compare the exported summaries:
+//   k6 run -e BASE_URL=http://localhost:8085 --summary-export=target/k6-platform.json benchmark/virtual_threads_load.js
+// The mix is read heavy, with a share of task additions whose events also keep the outbox relay busy.
+import http from 'k6/http';
+import { check } from 'k6';
+import { SharedArray } from 'k6/data';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8085';
+const PROJECTS = Number(__ENV.PROJECTS || 20);
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 200, duration: '30s' },
+                { target: 800, duration: '1m' },
+                { target: 800, duration: '1m' },
+                { target: 0, duration: '15s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<500', 'p(99)<1500'],
+    },
+};
+
+function idFromLocation(response) {
+    const location = response.headers['Location'];
+    return location.substring(location.lastIndexOf('/') + 1);
+}
+
+export function setup() {
+    const projects = [];
+    for (let i = 0; i < PROJECTS; i++) {
+        const project = http.post(`${BASE_URL}/projects`, JSON.stringify({
+            name: `load ${i}`,
+            description: 'virtual thread load test',
+            estimatedEndDate: '2030-12-31',
+            estimation: { hours: 100000, minutes: 0 },
+            contactPersonInput: { name: 'Load Test', email: 'load.test@example.com' },
+        }), JSON_HEADERS);
+        projects.push(idFromLocation(project));
+    }
+    const team = http.post(`${BASE_URL}/teams`, JSON.stringify({ name: 'load team' }), JSON_HEADERS);
+    return { projects, teamId: idFromLocation(team) };
+}
+
+export default function (data) {
+    const projectId = data.projects[Math.floor(Math.random() * data.projects.length)];
+    const roll = Math.random();
+    if (roll < 0.6) {
+        const response = http.get(`${BASE_URL}/projects/${projectId}`, { tags: { name: 'GET /projects/{id}' } });
+        check(response, { 'project found': r => r.status === 200 });
+    } else if (roll < 0.8) {
+        const response = http.get(`${BASE_URL}/projects?size=50`, { tags: { name: 'GET /projects' } });
+        check(response, { 'projects listed': r => r.status === 200 });
+    } else if (roll < 0.9) {
+        const response = http.get(`${BASE_URL}/teams/${data.teamId}`, { tags: { name: 'GET /teams/{id}' } });
+        check(response, { 'team found': r => r.status === 200 });
+    } else {
+        const response = http.post(`${BASE_URL}/projects/${projectId}/tasks`, JSON.stringify({
+            name: 'load task',
+            description: 'added under load',
+            estimation: { hours: 1, minutes: 0 },
+        }), { headers: JSON_HEADERS.headers, tags: { name: 'POST /projects/{id}/tasks' } });
+        check(response, { 'task added': r => r.status === 201 });
+    }
+}
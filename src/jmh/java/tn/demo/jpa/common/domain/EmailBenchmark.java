@@ -0,0 +1,26 @@
+package tn.demo.jpa.common.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email format validation, which runs for every contact person and team member read from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmailBenchmark {
+    @Param({"some.person@gmail.com", "Some.Person+tag@sub.example.co.uk", "not-an-email"})
+    public String email;
+
+    @Benchmark
+    public boolean isValid() {
+        return EmailFormat.isValid(email);
+    }
+
+    @Benchmark
+    public EmailAddress rehydrate() {
+        return EmailAddress.rehydrate(email);
+    }
+}
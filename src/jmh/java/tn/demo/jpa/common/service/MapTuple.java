@@ -0,0 +1,57 @@
+package tn.demo.jpa.common.service;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal in-memory {@link Tuple} so that row mappers can be benchmarked without a database.
+ */
+public final class MapTuple implements Tuple {
+    private final Map<String, Object> values;
+    private final List<Object> ordered;
+
+    public MapTuple(Map<String, Object> values) {
+        this.values = new LinkedHashMap<>(values);
+        this.ordered = new ArrayList<>(this.values.values());
+    }
+
+    @Override
+    public <X> X get(TupleElement<X> tupleElement) {
+        return get(tupleElement.getAlias(), tupleElement.getJavaType());
+    }
+
+    @Override
+    public <X> X get(String alias, Class<X> type) {
+        return type.cast(values.get(alias));
+    }
+
+    @Override
+    public Object get(String alias) {
+        return values.get(alias);
+    }
+
+    @Override
+    public <X> X get(int i, Class<X> type) {
+        return type.cast(ordered.get(i));
+    }
+
+    @Override
+    public Object get(int i) {
+        return ordered.get(i);
+    }
+
+    @Override
+    public Object[] toArray() {
+        return ordered.toArray();
+    }
+
+    @Override
+    public List<TupleElement<?>> getElements() {
+        return List.of();
+    }
+}
@@ -0,0 +1,68 @@
+package tn.demo.jpa.project.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Project totals and task additions on a project holding the given number of tasks. Task completion is measured
+ * by {@link ProjectTaskLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int tasks;
+
+    private Project project;
+
+    @Setup
+    public void setUp() {
+        project = projectWithTasks(tasks);
+    }
+
+    @Benchmark
+    public TimeEstimation getEstimationOfAllTasks() {
+        return project.getEstimationOfAllTasks();
+    }
+
+    /**
+     * Adding grows the project, so every measured batch of additions starts from a fresh project of the given size.
+     */
+    @State(Scope.Thread)
+    public static class Growing {
+        @Param({"10", "1000", "10000"})
+        public int tasks;
+
+        Project project;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            project = projectWithTasks(tasks);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 1000)
+    @Measurement(iterations = 10, batchSize = 1000)
+    public Project addTask(Growing growing) {
+        growing.project.addTask(new ProjectTaskId(UUID.randomUUID()), "task", "description", TimeEstimation.fromMinutes(1));
+        return growing.project;
+    }
+
+    private static Project projectWithTasks(int tasks) {
+        Project project = Project.createNew(new ProjectId(UUID.randomUUID()), "benchmark", "benchmark",
+                LocalDateTime.now(), LocalDate.now().plusYears(1), TimeEstimation.fromMinutes(Integer.MAX_VALUE / 2),
+                ContactPerson.create("name", "some@gmail.com"));
+        for (int i = 0; i < tasks; i++) {
+            project.addTask(new ProjectTaskId(UUID.randomUUID()), "task " + i, "description", TimeEstimation.fromMinutes(60));
+        }
+        return project;
+    }
+}
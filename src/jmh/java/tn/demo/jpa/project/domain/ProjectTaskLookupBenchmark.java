@@ -0,0 +1,63 @@
+package tn.demo.jpa.project.domain;
+
+import org.openjdk.jmh.annotations.*;
+import tn.demo.jpa.common.domain.ActualSpentTime;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task lookups of a project holding the given number of tasks. {@code linearScan} repeats the former
+ * stream-and-filter lookup over a set of the same size as a reference point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProjectTaskLookupBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int tasks;
+
+    private Project project;
+    private Set<ProjectTask> taskSet;
+    private ProjectTaskId target;
+    private final ActualSpentTime spentTime = ActualSpentTime.fromMinutes(30);
+
+    @Setup
+    public void setUp() {
+        project = Project.createNew(new ProjectId(UUID.randomUUID()), "benchmark", "benchmark",
+                LocalDateTime.now(), LocalDate.now().plusYears(1), TimeEstimation.fromMinutes(tasks * 60),
+                ContactPerson.create("name", "some@gmail.com"));
+        taskSet = new HashSet<>();
+        for (int i = 0; i < tasks; i++) {
+            var taskId = new ProjectTaskId(UUID.randomUUID());
+            project.addTask(taskId, "task " + i, "description", TimeEstimation.fromMinutes(60));
+            taskSet.add(ProjectTask.newInstance(project, taskId, "task " + i, "description", TimeEstimation.fromMinutes(60)));
+            if (i == tasks / 2) {
+                target = taskId;
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<ProjectTaskSnapshot> getTask() {
+        return project.getTask(target);
+    }
+
+    @Benchmark
+    public Project completeTask() {
+        project.completeTask(target, spentTime);
+        return project;
+    }
+
+    @Benchmark
+    public Optional<ProjectTask> linearScan() {
+        return taskSet.stream()
+                .filter(task -> task.hasId(target))
+                .findFirst();
+    }
+}
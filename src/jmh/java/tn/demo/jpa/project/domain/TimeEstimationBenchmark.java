@@ -0,0 +1,35 @@
+package tn.demo.jpa.project.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing the given number of estimations, as done when a project total is recomputed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeEstimationBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int estimations;
+
+    private TimeEstimation[] values;
+
+    @Setup
+    public void setUp() {
+        values = new TimeEstimation[estimations];
+        for (int i = 0; i < estimations; i++) {
+            values[i] = new TimeEstimation(i % 8, i % 60);
+        }
+    }
+
+    @Benchmark
+    public TimeEstimation add() {
+        TimeEstimation total = TimeEstimation.zeroEstimation();
+        for (TimeEstimation value : values) {
+            total = total.add(value);
+        }
+        return total;
+    }
+}
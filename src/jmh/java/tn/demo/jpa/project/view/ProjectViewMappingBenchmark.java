@@ -0,0 +1,114 @@
+package tn.demo.jpa.project.view;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Tuple;
+import org.openjdk.jmh.annotations.*;
+import tn.demo.jpa.common.service.EntityRecord;
+import tn.demo.jpa.common.service.MapTuple;
+import tn.demo.jpa.common.service.RowMapping;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Mapping the rows of a single project query into row records and assembling the project view from them, without
+ * the database round trip. {@code mapTuplesByName} repeats the former tuple, record and list pipeline as a reference
+ * point for the by-name ({@code mapRowsByName}) and positional ({@code mapRowsByPosition}) row mappings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectViewMappingBenchmark {
+    private static final String[] ALIASES = {"id", "name", "description", "project_estimate_hours",
+            "project_estimate_minutes", "project_status", "project_version", "task_id", "task_title",
+            "task_description", "task_status", "task_estimate_hours", "task_estimate_minutes", "actual_hours",
+            "actual_minutes"};
+
+    @Param({"10", "1000", "10000"})
+    public int tasks;
+
+    private List<Object[]> values;
+    private List<Tuple> tuples;
+    private List<ProjectTaskRow> rows;
+    private RowMapping<ProjectTaskRow> positional;
+    private ProjectViewService service;
+
+    @Setup
+    public void setUp() {
+        ProjectViewRepository repository = new ProjectViewRepository(null);
+        positional = repository.singleProjectMapping();
+        service = new ProjectViewService(repository, new SimpleMeterRegistry(), false, 1);
+        UUID projectId = UUID.randomUUID();
+        values = new ArrayList<>(tasks);
+        tuples = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Object[] row = row(projectId, i);
+            values.add(row);
+            Map<String, Object> columns = new LinkedHashMap<>();
+            for (int c = 0; c < ALIASES.length; c++) {
+                columns.put(ALIASES[c], row[c]);
+            }
+            tuples.add(new MapTuple(columns));
+        }
+        rows = mapRowsByPosition();
+    }
+
+    private static Object[] row(UUID projectId, int task) {
+        boolean complete = task % 2 == 0;
+        return new Object[]{projectId, "benchmark", "benchmark project", 1000, 0, "PLANNED", 1, UUID.randomUUID(),
+                "task " + task, "description", complete ? "COMPLETE" : "INCOMPLETE", 2, 30,
+                complete ? 3 : null, complete ? 15 : null};
+    }
+
+    @Benchmark
+    public List<ProjectTaskRow> mapTuplesByName() {
+        List<EntityRecord> records = tuples.stream()
+                .map(EntityRecord::new)
+                .toList();
+        return records.stream().map(byName()).toList();
+    }
+
+    @Benchmark
+    public List<ProjectTaskRow> mapRowsByName() {
+        return mapAll(RowMapping.byName(byName()));
+    }
+
+    @Benchmark
+    public List<ProjectTaskRow> mapRowsByPosition() {
+        return mapAll(positional);
+    }
+
+    @Benchmark
+    public Optional<ProjectView> toView() {
+        return service.toView(rows);
+    }
+
+    @Benchmark
+    public Optional<ProjectView> mapRowsAndToView() {
+        return service.toView(mapRowsByPosition());
+    }
+
+    private List<ProjectTaskRow> mapAll(RowMapping<ProjectTaskRow> mapping) {
+        Function<Object[], ProjectTaskRow> mapper = mapping.forColumns(ALIASES);
+        List<ProjectTaskRow> mapped = new ArrayList<>(values.size());
+        for (Object[] row : values) {
+            mapped.add(mapper.apply(row));
+        }
+        return mapped;
+    }
+
+    private static Function<EntityRecord, ProjectTaskRow> byName() {
+        return r -> new ProjectTaskRow(r.getUUID("id"), r.getString("name"), r.getString("description"),
+                r.getInteger("project_estimate_hours"), r.getInteger("project_estimate_minutes"),
+                r.getString("project_status"), r.getInteger("project_version"), r.getUUID("task_id"),
+                r.getString("task_title"), r.getString("task_description"), r.getString("task_status"),
+                r.getInteger("task_estimate_hours"), r.getInteger("task_estimate_minutes"),
+                r.getInteger("actual_hours"), r.getInteger("actual_minutes"));
+    }
+}
@@ -0,0 +1,62 @@
+package tn.demo.jpa.team.domain;
+
+import org.openjdk.jmh.annotations.*;
+import tn.demo.jpa.project.domain.ProjectTaskId;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Team commands on a team holding the given number of members and tasks. Each benchmark pairs a command with its
+ * inverse so the team keeps its size across invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TeamCommandBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int children;
+
+    private Team team;
+    private TeamTaskId existingTask;
+    private TeamMemberId existingMember;
+    private final TeamMemberId extraMember = new TeamMemberId(UUID.randomUUID());
+    private final TeamTaskId extraTask = new TeamTaskId(UUID.randomUUID());
+    private final ProjectTaskId extraProjectTask = new ProjectTaskId(UUID.randomUUID());
+
+    @Setup
+    public void setUp() {
+        team = Team.createNew(new TeamId(UUID.randomUUID()), "benchmark");
+        for (int i = 0; i < children; i++) {
+            var memberId = new TeamMemberId(UUID.randomUUID());
+            var taskId = new TeamTaskId(UUID.randomUUID());
+            team.addMember(memberId, "member " + i, "developer");
+            team.addTask(taskId, new ProjectTaskId(UUID.randomUUID()), "task " + i, "description");
+            if (i == children / 2) {
+                existingTask = taskId;
+                existingMember = memberId;
+            }
+        }
+    }
+
+    @Benchmark
+    public Team addAndRemoveMember() {
+        team.addMember(extraMember, "extra", "developer");
+        team.removeMember(extraMember);
+        return team;
+    }
+
+    @Benchmark
+    public Team addAndRemoveTask() {
+        team.addTask(extraTask, extraProjectTask, "extra", "description");
+        team.removeTask(extraTask);
+        return team;
+    }
+
+    @Benchmark
+    public Team assignAndUnassignTask() {
+        team.assignTask(existingTask, existingMember);
+        team.markTaskUnassigned(existingTask);
+        return team;
+    }
+}
@@ -0,0 +1,64 @@
+package tn.demo.jpa.team.domain;
+
+import org.openjdk.jmh.annotations.*;
+import tn.demo.jpa.project.domain.ProjectTaskId;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member and task lookups of a team holding the given number of members and tasks. {@code linearScan} repeats the
+ * former stream-and-filter lookup over a set of the same size as a reference point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TeamLookupBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int children;
+
+    private Team team;
+    private Set<TeamTask> taskSet;
+    private TeamTaskId targetTask;
+    private TeamMemberId targetMember;
+
+    @Setup
+    public void setUp() {
+        team = Team.createNew(new TeamId(UUID.randomUUID()), "benchmark");
+        taskSet = new HashSet<>();
+        for (int i = 0; i < children; i++) {
+            var memberId = new TeamMemberId(UUID.randomUUID());
+            var taskId = new TeamTaskId(UUID.randomUUID());
+            var projectTaskId = new ProjectTaskId(UUID.randomUUID());
+            team.addMember(memberId, "member " + i, "developer");
+            team.addTask(taskId, projectTaskId, "task " + i, "description");
+            taskSet.add(TeamTask.createNew(taskId, projectTaskId, "task " + i, "description", team));
+            if (i == children / 2) {
+                targetTask = taskId;
+                targetMember = memberId;
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<ProjectTaskId> getOriginalTaskId() {
+        return team.getOriginalTaskId(targetTask);
+    }
+
+    @Benchmark
+    public Team assignAndUnassignTask() {
+        team.assignTask(targetTask, targetMember);
+        team.markTaskUnassigned(targetTask);
+        return team;
+    }
+
+    @Benchmark
+    public Optional<TeamTask> linearScan() {
+        return taskSet.stream()
+                .filter(task -> task.hasId(targetTask))
+                .findFirst();
+    }
+}
@@ -0,0 +1,91 @@
+package tn.demo.jpa.team.view;
+
+import org.openjdk.jmh.annotations.*;
+import tn.demo.jpa.common.service.EntityRecord;
+import tn.demo.jpa.common.service.RowMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Mapping the member and task rows of the team view queries into row records, without the database round trip. The
+ * positional mappings used by {@link TeamViewRepository} are compared with reading the same rows by column name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeamViewMappingBenchmark {
+    private static final String[] MEMBER_ALIASES = {"member_id", "member_name", "member_profession"};
+    private static final String[] TASK_ALIASES = {"task_id", "task_name", "task_description", "project_task_id",
+            "task_status", "task_assignee_id", "actual_time_spent_hours", "actual_time_spent_minutes"};
+    private static final String[] STATUSES = {"NOT_ASSIGNED", "ASSIGNED", "IN_PROGRESS", "COMPLETED"};
+
+    @Param({"10", "1000", "10000"})
+    public int rows;
+
+    private List<Object[]> members;
+    private List<Object[]> tasks;
+    private RowMapping<TeamMemberRow> memberMapping;
+    private RowMapping<TeamTaskRow> taskMapping;
+
+    @Setup
+    public void setUp() {
+        TeamViewRepository repository = new TeamViewRepository(null);
+        memberMapping = repository.teamMemberRowMapping();
+        taskMapping = repository.teamTaskRowMapping();
+        members = new ArrayList<>(rows);
+        tasks = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            UUID memberId = UUID.randomUUID();
+            members.add(new Object[]{memberId, "member " + i, "developer"});
+            tasks.add(task(i, memberId));
+        }
+    }
+
+    private static Object[] task(int task, UUID memberId) {
+        String status = STATUSES[task % STATUSES.length];
+        boolean assigned = !status.equals("NOT_ASSIGNED");
+        boolean completed = status.equals("COMPLETED");
+        return new Object[]{UUID.randomUUID(), "task " + task, "description", UUID.randomUUID(), status,
+                assigned ? memberId : null, completed ? 3 : null, completed ? 15 : null};
+    }
+
+    @Benchmark
+    public List<TeamMemberRow> mapMembersByPosition() {
+        return mapAll(memberMapping, MEMBER_ALIASES, members);
+    }
+
+    @Benchmark
+    public List<TeamMemberRow> mapMembersByName() {
+        return mapAll(RowMapping.byName(r -> new TeamMemberRow(r.getUUID("member_id"), r.getString("member_name"),
+                r.getString("member_profession"))), MEMBER_ALIASES, members);
+    }
+
+    @Benchmark
+    public List<TeamTaskRow> mapTasksByPosition() {
+        return mapAll(taskMapping, TASK_ALIASES, tasks);
+    }
+
+    @Benchmark
+    public List<TeamTaskRow> mapTasksByName() {
+        return mapAll(RowMapping.byName(tasksByName()), TASK_ALIASES, tasks);
+    }
+
+    private static <T> List<T> mapAll(RowMapping<T> mapping, String[] aliases, List<Object[]> values) {
+        Function<Object[], T> mapper = mapping.forColumns(aliases);
+        List<T> mapped = new ArrayList<>(values.size());
+        for (Object[] row : values) {
+            mapped.add(mapper.apply(row));
+        }
+        return mapped;
+    }
+
+    private static Function<EntityRecord, TeamTaskRow> tasksByName() {
+        return r -> new TeamTaskRow(r.getUUID("task_id"), r.getString("task_name"), r.getString("task_description"),
+                r.getUUID("project_task_id"), r.getString("task_status"), r.getUUID("task_assignee_id"),
+                r.getInteger("actual_time_spent_hours"), r.getInteger("actual_time_spent_minutes"));
+    }
+}
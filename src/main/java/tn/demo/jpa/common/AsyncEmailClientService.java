@@ -0,0 +1,159 @@
+package tn.demo.jpa.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues messages and sends them in batches through the delegate on its own worker threads, so callers only enqueue.
+ * The queue is bounded; when it is full the {@link EmailOverflowPolicy} decides what happens. On {@link #close()} the
+ * workers keep sending until the queue is empty or the drain timeout has passed.
+ * <p>
+ * Delivery is at most once after a message has been queued. A batch that the delegate fails to send is logged and
+ * counted in {@code email.dropped{reason=failure}}, not retried, and messages still queued when {@link #close()} gives
+ * up are counted in {@code email.dropped{reason=shutdown}}. With {@link EmailOverflowPolicy#DROP_NEWEST} and
+ * {@link EmailOverflowPolicy#DROP_OLDEST} a full queue drops messages the same way, counted in
+ * {@code email.dropped{reason=overflow}}. The caller only sees a failure when the message is not queued at all:
+ * {@link #send} throws while the client is shutting down, and with {@link EmailOverflowPolicy#CALLER_RUNS} a failure
+ * of the caller's own send is rethrown.
+ */
+public class AsyncEmailClientService implements EmailClientService, AutoCloseable {
+    private static final long POLL_MILLIS = 100;
+
+    private final EmailClientService delegate;
+    private final BlockingQueue<EmailMessage> queue;
+    private final int batchSize;
+    private final EmailOverflowPolicy overflowPolicy;
+    private final Duration drainTimeout;
+    private final ExecutorService workers;
+    private final Timer sendTimer;
+    private final Counter sent;
+    private final Counter droppedOnOverflow;
+    private final Counter droppedOnFailure;
+    private final Counter droppedOnShutdown;
+    private volatile boolean running = true;
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncEmailClientService.class);
+
+    public AsyncEmailClientService(EmailClientService delegate, int queueCapacity, int workerCount, int batchSize,
+                                   EmailOverflowPolicy overflowPolicy, Duration drainTimeout, MeterRegistry meterRegistry) {
+        this(delegate, queueCapacity, workerCount, batchSize, overflowPolicy, drainTimeout, meterRegistry,
+                WorkerThreads.named("email-sender-", false));
+    }
+
+    public AsyncEmailClientService(EmailClientService delegate, int queueCapacity, int workerCount, int batchSize,
+                                   EmailOverflowPolicy overflowPolicy, Duration drainTimeout, MeterRegistry meterRegistry,
+                                   ThreadFactory threadFactory) {
+        if (queueCapacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Email queue capacity, workers and batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.drainTimeout = drainTimeout;
+        this.sendTimer = Timer.builder("email.send").description("Time to send one batch of emails").register(meterRegistry);
+        this.sent = Counter.builder("email.sent").register(meterRegistry);
+        this.droppedOnOverflow = Counter.builder("email.dropped").tag("reason", "overflow").register(meterRegistry);
+        this.droppedOnFailure = Counter.builder("email.dropped").tag("reason", "failure").register(meterRegistry);
+        this.droppedOnShutdown = Counter.builder("email.dropped").tag("reason", "shutdown").register(meterRegistry);
+        Gauge.builder("email.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    @Override
+    public void send(EmailMessage message) {
+        if (!running) {
+            throw new IllegalStateException("Email client is shutting down, not accepting message to %s"
+                    .formatted(message.to().value()));
+        }
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> {
+                if (!queue.offer(message)) {
+                    dropOnOverflow(message);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(message)) {
+                    EmailMessage oldest = queue.poll();
+                    if (oldest != null) {
+                        dropOnOverflow(oldest);
+                    }
+                }
+            }
+            case CALLER_RUNS -> {
+                if (!queue.offer(message)) {
+                    sendTimer.record(() -> delegate.sendAll(List.of(message)));
+                    sent.increment();
+                }
+            }
+        }
+    }
+
+    private void dropOnOverflow(EmailMessage message) {
+        log.warn("Email queue full, dropping message to {}", message.to().value());
+        droppedOnOverflow.increment();
+    }
+
+    private void work() {
+        List<EmailMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                EmailMessage first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<EmailMessage> batch) {
+        try {
+            sendTimer.record(() -> delegate.sendAll(batch));
+            sent.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to send {} emails", batch.size(), e);
+            droppedOnFailure.increment(batch.size());
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+        int undelivered = queue.size();
+        queue.clear();
+        if (undelivered > 0) {
+            log.warn("Email client stopped with {} undelivered messages", undelivered);
+            droppedOnShutdown.increment(undelivered);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package tn.demo.jpa.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import tn.demo.jpa.common.service.Versioned;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Responses to conditional requests on aggregate views.
+ */
+public final class ConditionalResponses {
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Answers a GET with the view and its entity tag. When the request carries {@code If-None-Match}, the current
+     * version is looked up first and a matching tag is answered with 304 without building the view.
+     */
+    public static <V> ResponseEntity<V> view(String ifNoneMatch, Supplier<Optional<Integer>> currentVersion,
+                                             Supplier<Optional<Versioned<V>>> view) {
+        if (ifNoneMatch != null) {
+            Optional<Integer> version = currentVersion.get();
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (EntityTags.noneMatchHits(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(version.get())).build();
+            }
+        }
+        return view.get()
+                .map(versioned -> ResponseEntity.ok().eTag(EntityTags.of(versioned.version())).body(versioned.value()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import tn.demo.jpa.common.domain.EmailNotValidException;
+import tn.demo.jpa.common.infra.outbox.UnknownDeadLetterException;
+import tn.demo.jpa.common.service.VersionMismatchException;
 import tn.demo.jpa.project.domain.ProjectAlreadyCompletedException;
 import tn.demo.jpa.project.domain.ProjectTimeEstimationWouldBeExceededException;
 import tn.demo.jpa.project.domain.UnknownProjectIdException;
@@ -108,4 +110,18 @@ public class ControllerExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<String> handleVersionMismatchException(VersionMismatchException ex) {
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(EntityTags.of(ex.getCurrentVersion()))
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(UnknownDeadLetterException.class)
+    public ResponseEntity<String> handleUnknownDeadLetterException(UnknownDeadLetterException ex) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ex.getMessage());
+    }
 }
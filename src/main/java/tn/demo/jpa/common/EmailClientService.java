@@ -1,5 +1,11 @@
 package tn.demo.jpa.common;
 
+import java.util.List;
+
 public interface EmailClientService  {
     void send(EmailMessage message);
+
+    default void sendAll(List<EmailMessage> messages) {
+        messages.forEach(this::send);
+    }
 }
@@ -0,0 +1,21 @@
+package tn.demo.jpa.common;
+
+/**
+ * What {@link AsyncEmailClientService} does with a message when its queue is full.
+ */
+public enum EmailOverflowPolicy {
+    /**
+     * The new message is dropped without telling the caller; the drop is logged and counted.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest queued message is dropped to make room for the new one, without telling anyone; the drop is logged
+     * and counted.
+     */
+    DROP_OLDEST,
+    /**
+     * The caller sends the message itself, which slows the caller down to the pace of the mail server. A failed send is
+     * thrown to the caller, so no message is lost to a full queue.
+     */
+    CALLER_RUNS
+}
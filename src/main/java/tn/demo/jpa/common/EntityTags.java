@@ -0,0 +1,109 @@
+package tn.demo.jpa.common;
+
+import tn.demo.jpa.common.service.ExpectedVersion;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Strong entity tags derived from the {@code @Version} of an aggregate. The version changes with every committed
+ * change to the aggregate or its children, so equal tags mean an equal representation.
+ */
+public final class EntityTags {
+    private EntityTags() {
+    }
+
+    public static String of(int version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the current version. Uses weak comparison as the header
+     * requires, so {@code W/"3"} matches version 3.
+     */
+    public static boolean noneMatchHits(String ifNoneMatch, int version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = of(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versions accepted by an {@code If-Match} header. A missing header or {@code *} requires nothing. Each tag of a
+     * list is compared on its own using strong comparison, so weak tags and tags this service never issues match no
+     * version and fail the precondition rather than the request. Only a header that is not a list of entity tags is
+     * rejected as malformed.
+     */
+    public static ExpectedVersion expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return ExpectedVersion.ANY;
+        }
+        Set<Integer> versions = new HashSet<>();
+        boolean anyTag = false;
+        int position = 0;
+        while (true) {
+            position = skipSeparators(ifMatch, position);
+            if (position == ifMatch.length()) {
+                break;
+            }
+            boolean weak = ifMatch.startsWith("W/", position);
+            int open = weak ? position + 2 : position;
+            int close = open < ifMatch.length() && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+            if (close < 0) {
+                throw malformedIfMatch(ifMatch);
+            }
+            position = skipWhitespace(ifMatch, close + 1);
+            if (position < ifMatch.length() && ifMatch.charAt(position) != ',') {
+                throw malformedIfMatch(ifMatch);
+            }
+            anyTag = true;
+            if (!weak) {
+                parseVersion(ifMatch.substring(open + 1, close)).ifPresent(versions::add);
+            }
+        }
+        if (!anyTag) {
+            throw malformedIfMatch(ifMatch);
+        }
+        return ExpectedVersion.oneOf(versions);
+    }
+
+    private static int skipSeparators(String header, int position) {
+        while (position < header.length() && (header.charAt(position) == ',' || Character.isWhitespace(header.charAt(position)))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int skipWhitespace(String header, int position) {
+        while (position < header.length() && Character.isWhitespace(header.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static Optional<Integer> parseVersion(String opaqueTag) {
+        try {
+            return Optional.of(Integer.parseInt(opaqueTag));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static IllegalArgumentException malformedIfMatch(String ifMatch) {
+        return new IllegalArgumentException("If-Match must be * or a list of entity tags, was %s".formatted(ifMatch));
+    }
+}
@@ -1,5 +1,6 @@
 package tn.demo.jpa.common;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import tn.demo.jpa.project.domain.ProjectId;
 import tn.demo.jpa.project.domain.ProjectTaskId;
@@ -8,9 +9,19 @@ import tn.demo.jpa.team.domain.TeamMemberId;
 import tn.demo.jpa.team.domain.TeamTaskId;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Component
 public class IDService {
+    private final Supplier<UUID> uuids;
+
+    public IDService(@Value("${ids.uuid-version:V4}") UuidVersion uuidVersion) {
+        this.uuids = switch (uuidVersion) {
+            case V4 -> UUID::randomUUID;
+            case V7 -> new TimeOrderedUuidGenerator()::next;
+        };
+    }
+
     public ProjectId newProjectId(){
         return new ProjectId(newUUID());
     }
@@ -31,8 +42,12 @@ public class IDService {
         return new TeamMemberId(newUUID());
     }
 
+    public UUID newEventId(){
+        return newUUID();
+    }
+
     private UUID newUUID(){
-        return UUID.randomUUID();
+        return uuids.get();
     }
 
 }
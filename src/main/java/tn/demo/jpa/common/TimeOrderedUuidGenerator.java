@@ -0,0 +1,55 @@
+package tn.demo.jpa.common;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates UUIDv7 values: 48 bits of unix epoch milliseconds, a 12 bit counter in the rand_a field and 62 random bits.
+ * Values are strictly increasing within one generator, also when several are created in the same millisecond or the
+ * clock moves backwards. If the counter runs out, the timestamp is borrowed from the next millisecond.
+ */
+final class TimeOrderedUuidGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long VARIANT_RFC = 0x8000000000000000L;
+
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastTimestamp = -1;
+    private int counter;
+
+    TimeOrderedUuidGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    TimeOrderedUuidGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    UUID next() {
+        long timestamp;
+        int sequence;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (now > lastTimestamp) {
+                lastTimestamp = now;
+                counter = random.nextInt(COUNTER_SEED_BOUND);
+            } else if (counter < MAX_COUNTER) {
+                counter++;
+            } else {
+                lastTimestamp++;
+                counter = 0;
+            }
+            timestamp = lastTimestamp;
+            sequence = counter;
+        }
+        long mostSignificantBits = (timestamp << 16) | VERSION_7 | sequence;
+        long leastSignificantBits = (random.nextLong() & VARIANT_MASK) | VARIANT_RFC;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,12 @@
+package tn.demo.jpa.common;
+
+public enum UuidVersion {
+    /**
+     * Random identifiers, {@link java.util.UUID#randomUUID()}.
+     */
+    V4,
+    /**
+     * Unix millisecond timestamp prefixed identifiers (RFC 9562), which keep B-tree inserts near the right edge.
+     */
+    V7
+}
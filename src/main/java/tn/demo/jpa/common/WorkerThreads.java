@@ -0,0 +1,19 @@
+package tn.demo.jpa.common;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factories for the application's own worker pools. With {@code spring.threads.virtual.enabled} the workers
+ * run on virtual threads like the request handling threads, so blocking on JDBC or the email client does not hold a
+ * platform thread and the connection pool stays the only limit on concurrent database work.
+ */
+public final class WorkerThreads {
+    private WorkerThreads() {
+    }
+
+    public static ThreadFactory named(String prefix, boolean virtual) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : Thread.ofPlatform().name(prefix, 1).factory();
+    }
+}
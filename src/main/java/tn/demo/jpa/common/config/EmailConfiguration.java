@@ -0,0 +1,27 @@
+package tn.demo.jpa.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tn.demo.jpa.common.AsyncEmailClientService;
+import tn.demo.jpa.common.DummyEmailClientService;
+import tn.demo.jpa.common.EmailOverflowPolicy;
+import tn.demo.jpa.common.WorkerThreads;
+
+import java.time.Duration;
+
+@Configuration
+public class EmailConfiguration {
+    @Bean(destroyMethod = "close")
+    public AsyncEmailClientService emailClientService(MeterRegistry meterRegistry,
+                                                      @Value("${email.dispatch.queue-capacity:1000}") int queueCapacity,
+                                                      @Value("${email.dispatch.workers:2}") int workers,
+                                                      @Value("${email.dispatch.batch-size:20}") int batchSize,
+                                                      @Value("${email.dispatch.overflow-policy:CALLER_RUNS}") EmailOverflowPolicy overflowPolicy,
+                                                      @Value("${email.dispatch.drain-timeout:10s}") Duration drainTimeout,
+                                                      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return new AsyncEmailClientService(new DummyEmailClientService(), queueCapacity, workers, batchSize,
+                overflowPolicy, drainTimeout, meterRegistry, WorkerThreads.named("email-sender-", virtualThreads));
+    }
+}
@@ -0,0 +1,18 @@
+package tn.demo.jpa.common.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+    /**
+     * Records the methods of beans annotated with {@link io.micrometer.core.annotation.Timed}, tagged with class and
+     * method name and the exception thrown, if any.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package tn.demo.jpa.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tn.demo.jpa.common.infra.sql.SqlStatementInspector;
+
+@Configuration
+public class SqlStatementConfiguration {
+    @Bean
+    public SqlStatementInspector sqlStatementInspector(MeterRegistry meterRegistry) {
+        return new SqlStatementInspector(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(SqlStatementInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
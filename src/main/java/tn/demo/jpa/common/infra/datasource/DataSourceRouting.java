@@ -0,0 +1,50 @@
+package tn.demo.jpa.common.infra.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Forces transactions started on the current thread to the primary, for work that must see its own or other
+ * just-committed writes. Scopes nest. Without a replica configured this has no effect.
+ */
+public final class DataSourceRouting {
+    private static final ThreadLocal<Integer> PRIMARY_FORCED = ThreadLocal.withInitial(() -> 0);
+
+    private DataSourceRouting() {
+    }
+
+    public static PrimaryScope forcePrimary() {
+        PRIMARY_FORCED.set(PRIMARY_FORCED.get() + 1);
+        return new PrimaryScope();
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        try (PrimaryScope ignored = forcePrimary()) {
+            return work.get();
+        }
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() > 0;
+    }
+
+    public static final class PrimaryScope implements AutoCloseable {
+        private boolean closed;
+
+        private PrimaryScope() {
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            int depth = PRIMARY_FORCED.get() - 1;
+            if (depth <= 0) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(depth);
+            }
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package tn.demo.jpa.common.infra.datasource;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
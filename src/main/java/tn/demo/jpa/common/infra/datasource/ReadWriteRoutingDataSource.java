@@ -0,0 +1,35 @@
+package tn.demo.jpa.common.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sends read-only transactions to the replica while it is usable, and everything else to the primary. The read-only
+ * flag of a transaction is only known after it has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that fetches the connection on the first
+ * statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private final BooleanSupplier replicaUsable;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaUsable) {
+        this.replicaUsable = replicaUsable;
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected DataSourceTarget determineCurrentLookupKey() {
+        if (DataSourceRouting.isPrimaryForced()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !replicaUsable.getAsBoolean()) {
+            return DataSourceTarget.PRIMARY;
+        }
+        return DataSourceTarget.REPLICA;
+    }
+}
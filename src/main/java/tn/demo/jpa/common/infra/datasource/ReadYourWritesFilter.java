@@ -0,0 +1,29 @@
+package tn.demo.jpa.common.infra.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves requests carrying {@value #HEADER}{@code : true} from the primary, so a client can read what it has just
+ * written regardless of replica lag.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!Boolean.parseBoolean(request.getHeader(HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (DataSourceRouting.PrimaryScope ignored = DataSourceRouting.forcePrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package tn.demo.jpa.common.infra.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the replica lags behind the primary. While the lag exceeds {@code maxLag}, or the
+ * replica cannot be reached, read-only transactions fall back to the primary. A replica that has replayed everything
+ * it received reports no lag, so an idle primary does not make it look stale. Against a server that is not a standby
+ * the lag is always zero.
+ */
+public class ReplicaLagMonitor {
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final boolean fallbackEnabled;
+    private volatile long lagMillis;
+    private volatile boolean reachable = true;
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, boolean fallbackEnabled, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.fallbackEnabled = fallbackEnabled;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.isUsable() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:2s}")
+    public void check() {
+        boolean wasUsable = isUsable();
+        try {
+            Number lag = replica.queryForObject(LAG_QUERY, Number.class);
+            lagMillis = lag == null ? 0 : lag.longValue();
+            reachable = true;
+        } catch (RuntimeException e) {
+            reachable = false;
+            log.debug("Replica lag check failed", e);
+        }
+        if (wasUsable != isUsable()) {
+            log.warn("Replica {} for reads (reachable: {}, lag: {} ms, max: {} ms)",
+                    isUsable() ? "back in use" : "taken out of use", reachable, lagMillis, maxLag.toMillis());
+        }
+    }
+
+    public boolean isUsable() {
+        return !fallbackEnabled || (reachable && lagMillis <= maxLag.toMillis());
+    }
+}
@@ -0,0 +1,84 @@
+package tn.demo.jpa.common.infra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the number of children hydrated whenever a child collection of an aggregate is loaded, as the
+ * {@code aggregate.children} distribution tagged with the aggregate and the collection. A lazy collection is recorded
+ * when it is initialized, after Hibernate's own listener, so its size is read without further queries. A collection
+ * fetched together with its owner, as by a fetch join, is recorded when the owner is loaded: Hibernate finishes such
+ * collections before post-load, while lazy ones are still uninitialized then, so no load is recorded twice.
+ */
+@Component
+class CollectionHydrationMetrics implements InitializeCollectionEventListener, PostLoadEventListener {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    CollectionHydrationMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.INIT_COLLECTION, this);
+        listeners.appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        record(event.getCollection());
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        for (Object value : event.getPersister().getValues(event.getEntity())) {
+            if (value instanceof PersistentCollection<?> collection) {
+                record(collection);
+            }
+        }
+    }
+
+    private void record(PersistentCollection<?> collection) {
+        if (!collection.wasInitialized() || collection.getRole() == null) {
+            return;
+        }
+        summary(collection.getRole()).record(sizeOf(collection));
+    }
+
+    private DistributionSummary summary(String role) {
+        return summaries.computeIfAbsent(role, key -> {
+            String owner = key.substring(0, key.lastIndexOf('.'));
+            return DistributionSummary.builder("aggregate.children")
+                    .description("Children hydrated per collection load")
+                    .tag("aggregate", owner.substring(owner.lastIndexOf('.') + 1))
+                    .tag("collection", key.substring(key.lastIndexOf('.') + 1))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        });
+    }
+
+    private static int sizeOf(PersistentCollection<?> collection) {
+        if (collection instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (collection instanceof Collection<?> values) {
+            return values.size();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,33 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/dead-letters")
+public class DeadLetterController {
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    public List<DeadLetterView> findPending() {
+        return deadLetterService.findPending();
+    }
+
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<Void> replay(@PathVariable UUID id) {
+        deadLetterService.replay(id);
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<Integer> replayAll() {
+        return ResponseEntity.accepted().body(deadLetterService.replayAll());
+    }
+}
@@ -0,0 +1,70 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "dead_letter_events")
+public class DeadLetterEvent {
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Id
+    private UUID id;
+    private String eventType;
+    private String payload;
+    private LocalDateTime failedAt;
+    private String error;
+    private LocalDateTime replayedAt;
+
+    protected DeadLetterEvent() {
+        //for jpa
+    }
+
+    private DeadLetterEvent(UUID id, String eventType, String payload, LocalDateTime failedAt, String error) {
+        this.id = id;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.failedAt = failedAt;
+        this.error = error;
+    }
+
+    static DeadLetterEvent of(UUID id, EncodedEvent event, LocalDateTime failedAt, Throwable cause) {
+        String error = cause.toString();
+        return new DeadLetterEvent(id, event.type(), event.payload(), failedAt,
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+    }
+
+    void replayed(LocalDateTime when) {
+        this.replayedAt = when;
+    }
+
+    boolean isReplayed() {
+        return replayedAt != null;
+    }
+
+    EncodedEvent encoded() {
+        return new EncodedEvent(eventType, payload);
+    }
+
+    DeadLetterView toView() {
+        return new DeadLetterView(id, eventType, payload, failedAt, error, replayedAt);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeadLetterEvent other = (DeadLetterEvent) o;
+        return Objects.equals(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
@@ -0,0 +1,10 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+interface DeadLetterRepository extends CrudRepository<DeadLetterEvent, UUID> {
+    List<DeadLetterEvent> findByReplayedAtIsNullOrderByFailedAt();
+}
@@ -0,0 +1,70 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.common.DateService;
+import tn.demo.jpa.common.IDService;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps events whose handling failed for good. Replaying an event appends it to the outbox again, so it is delivered
+ * by the relay like any other event.
+ */
+@Service
+public class DeadLetterService {
+    private final DeadLetterRepository deadLetters;
+    private final OutboxRepository outbox;
+    private final OutboxEventCodec codec;
+    private final IDService IDService;
+    private final DateService dateService;
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterService.class);
+
+    DeadLetterService(DeadLetterRepository deadLetters, OutboxRepository outbox, OutboxEventCodec codec,
+                      IDService IDService, DateService dateService) {
+        this.deadLetters = deadLetters;
+        this.outbox = outbox;
+        this.codec = codec;
+        this.IDService = IDService;
+        this.dateService = dateService;
+    }
+
+    @Transactional
+    public void add(Object event, Throwable cause) {
+        log.error("Moving event {} to dead letters", event, cause);
+        deadLetters.save(DeadLetterEvent.of(IDService.newEventId(), codec.encode(event), dateService.now(), cause));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DeadLetterView> findPending() {
+        return deadLetters.findByReplayedAtIsNullOrderByFailedAt().stream()
+                .map(DeadLetterEvent::toView)
+                .toList();
+    }
+
+    @Transactional
+    public void replay(UUID id) {
+        DeadLetterEvent deadLetter = deadLetters.findById(id)
+                .orElseThrow(() -> new UnknownDeadLetterException(id));
+        replay(deadLetter);
+    }
+
+    @Transactional
+    public int replayAll() {
+        List<DeadLetterEvent> pending = deadLetters.findByReplayedAtIsNullOrderByFailedAt();
+        pending.forEach(this::replay);
+        return pending.size();
+    }
+
+    private void replay(DeadLetterEvent deadLetter) {
+        if (deadLetter.isReplayed()) {
+            return;
+        }
+        outbox.save(OutboxEvent.pending(IDService.newEventId(), deadLetter.encoded(), dateService.now()));
+        deadLetter.replayed(dateService.now());
+    }
+}
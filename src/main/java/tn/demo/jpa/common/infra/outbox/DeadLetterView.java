@@ -0,0 +1,7 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DeadLetterView(UUID id, String eventType, String payload, LocalDateTime failedAt, String error,
+                             LocalDateTime replayedAt) {}
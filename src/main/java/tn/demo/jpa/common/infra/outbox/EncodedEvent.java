@@ -0,0 +1,3 @@
+package tn.demo.jpa.common.infra.outbox;
+
+record EncodedEvent(String type, String payload) {}
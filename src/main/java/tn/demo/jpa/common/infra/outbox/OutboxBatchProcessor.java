@@ -0,0 +1,126 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
+import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
+import tn.demo.jpa.project.service.CompletionOutcome;
+import tn.demo.jpa.project.service.DomainEventListeners;
+import tn.demo.jpa.project.service.ProjectTaskCompletionCoalescer;
+import tn.demo.jpa.project.view.ProjectSummaryService;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+class OutboxBatchProcessor {
+    private final OutboxRepository repository;
+    private final OutboxEventCodec codec;
+    private final DomainEventListeners listeners;
+    private final ProjectTaskCompletionCoalescer completionCoalescer;
+    private final DeadLetterService deadLetters;
+    private final ProjectSummaryService projectSummaries;
+    private final Counter dispatched;
+    private final Counter failed;
+    private final Counter deadLettered;
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxBatchProcessor.class);
+
+    OutboxBatchProcessor(OutboxRepository repository, OutboxEventCodec codec, DomainEventListeners listeners,
+                         ProjectTaskCompletionCoalescer completionCoalescer, DeadLetterService deadLetters,
+                         ProjectSummaryService projectSummaries, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.codec = codec;
+        this.listeners = listeners;
+        this.completionCoalescer = completionCoalescer;
+        this.deadLetters = deadLetters;
+        this.projectSummaries = projectSummaries;
+        this.dispatched = Counter.builder("outbox.events").tag("result", "dispatched").register(meterRegistry);
+        this.failed = Counter.builder("outbox.events").tag("result", "failed").register(meterRegistry);
+        this.deadLettered = Counter.builder("outbox.events").tag("result", "dead_lettered").register(meterRegistry);
+    }
+
+    /**
+     * Claims up to {@code batchSize} events and hands them to the event handlers. Team task completions of the batch
+     * are coalesced per project. Delivered events are deleted, events whose retries on optimistic locking conflicts
+     * ran out are moved to the dead letters, and other failed events stay in the outbox with an increased attempt
+     * count until {@code maxAttempts} is reached. Finally all projects the batch touched are marked for a summary
+     * refresh in the same transaction, so the marks are stored exactly when the events are settled.
+     *
+     * @return number of claimed events
+     */
+    @Transactional
+    public int processNextBatch(int batchSize, int maxAttempts) {
+        List<OutboxEvent> batch = repository.claimBatch(maxAttempts, batchSize);
+        Map<TeamTaskCompletedEvent, List<OutboxEvent>> completions = new LinkedHashMap<>();
+        Set<UUID> touchedProjects = new HashSet<>();
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                Object event = codec.decode(outboxEvent.encoded());
+                if (event instanceof TeamTaskCompletedEvent completed) {
+                    completions.computeIfAbsent(completed, key -> new ArrayList<>()).add(outboxEvent);
+                } else if (event instanceof TaskAddedToProjectEvent added) {
+                    touchedProjects.add(added.getToProject().value());
+                    listeners.on(added);
+                    delivered(outboxEvent);
+                } else if (event instanceof ProjectCreatedEvent created) {
+                    touchedProjects.add(created.getProjectId().value());
+                    delivered(outboxEvent);
+                }
+            } catch (RuntimeException e) {
+                failed(outboxEvent, e);
+            }
+        }
+        if (!completions.isEmpty()) {
+            for (CompletionOutcome outcome : completionCoalescer.completeAll(List.copyOf(completions.keySet()))) {
+                completions.get(outcome.event()).forEach(outboxEvent -> settle(outboxEvent, outcome));
+            }
+        }
+        markSummaries(touchedProjects, completions.keySet());
+        return batch.size();
+    }
+
+    private void markSummaries(Set<UUID> projectIds, Set<TeamTaskCompletedEvent> completions) {
+        if (projectIds.isEmpty() && completions.isEmpty()) {
+            return;
+        }
+        List<UUID> projectTaskIds = completions.stream()
+                .map(completed -> completed.getProjectTaskId().value())
+                .toList();
+        projectSummaries.markForRefresh(projectIds, projectTaskIds);
+    }
+
+    private void settle(OutboxEvent outboxEvent, CompletionOutcome outcome) {
+        if (!outcome.isFailed()) {
+            delivered(outboxEvent);
+        } else if (outcome.failure() instanceof OptimisticLockingFailureException) {
+            deadLetters.add(outcome.event(), outcome.failure());
+            repository.delete(outboxEvent);
+            deadLettered.increment();
+        } else {
+            failed(outboxEvent, outcome.failure());
+        }
+    }
+
+    private void delivered(OutboxEvent outboxEvent) {
+        repository.delete(outboxEvent);
+        dispatched.increment();
+    }
+
+    private void failed(OutboxEvent outboxEvent, RuntimeException e) {
+        log.warn("Failed to dispatch outbox event {} (attempt {})", outboxEvent.getId(), outboxEvent.getAttempts() + 1, e);
+        outboxEvent.failed(e);
+        failed.increment();
+    }
+}
@@ -0,0 +1,70 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Id
+    private UUID id;
+    private String eventType;
+    private String payload;
+    private LocalDateTime createdAt;
+    private int attempts;
+    private String lastError;
+
+    protected OutboxEvent() {
+        //for jpa
+    }
+
+    private OutboxEvent(UUID id, String eventType, String payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.attempts = 0;
+    }
+
+    static OutboxEvent pending(UUID id, EncodedEvent event, LocalDateTime createdAt) {
+        return new OutboxEvent(id, event.type(), event.payload(), createdAt);
+    }
+
+    void failed(RuntimeException error) {
+        this.attempts++;
+        String message = error.toString();
+        this.lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    EncodedEvent encoded() {
+        return new EncodedEvent(eventType, payload);
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent other = (OutboxEvent) o;
+        return Objects.equals(id, other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+}
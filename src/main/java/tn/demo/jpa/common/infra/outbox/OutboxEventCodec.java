@@ -0,0 +1,88 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import tn.demo.jpa.common.domain.ActualSpentTime;
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.domain.ProjectTaskId;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
+import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
+import tn.demo.jpa.team.domain.TeamTaskId;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.util.UUID;
+
+/**
+ * Maps domain events to the JSON stored in the outbox and back. Payloads are plain records, so the stored format
+ * does not depend on the event classes.
+ */
+@Component
+class OutboxEventCodec {
+    static final String TEAM_TASK_COMPLETED = "TeamTaskCompleted";
+    static final String TASK_ADDED_TO_PROJECT = "TaskAddedToProject";
+    static final String PROJECT_CREATED = "ProjectCreated";
+
+    private final ObjectMapper objectMapper;
+
+    OutboxEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    EncodedEvent encode(Object event) {
+        if (event instanceof TeamTaskCompletedEvent completed) {
+            var spent = completed.getActualSpentTime();
+            return new EncodedEvent(TEAM_TASK_COMPLETED, write(new TeamTaskCompletedPayload(
+                    completed.getTaskId().value(), completed.getProjectTaskId().value(), spent.getHours(), spent.getMinutes())));
+        }
+        if (event instanceof TaskAddedToProjectEvent added) {
+            return new EncodedEvent(TASK_ADDED_TO_PROJECT, write(new TaskAddedToProjectPayload(
+                    added.getToProject().value(), added.getTaskId().value())));
+        }
+        if (event instanceof ProjectCreatedEvent created) {
+            return new EncodedEvent(PROJECT_CREATED, write(new ProjectCreatedPayload(created.getProjectId().value())));
+        }
+        throw new IllegalArgumentException("Unsupported outbox event " + event.getClass().getName());
+    }
+
+    Object decode(EncodedEvent event) {
+        return switch (event.type()) {
+            case TEAM_TASK_COMPLETED -> {
+                var payload = read(event.payload(), TeamTaskCompletedPayload.class);
+                yield new TeamTaskCompletedEvent(new TeamTaskId(payload.teamTaskId()), new ProjectTaskId(payload.projectTaskId()),
+                        new ActualSpentTime(payload.actualSpentHours(), payload.actualSpentMinutes()));
+            }
+            case TASK_ADDED_TO_PROJECT -> {
+                var payload = read(event.payload(), TaskAddedToProjectPayload.class);
+                yield new TaskAddedToProjectEvent(new ProjectId(payload.projectId()), new ProjectTaskId(payload.taskId()));
+            }
+            case PROJECT_CREATED -> {
+                var payload = read(event.payload(), ProjectCreatedPayload.class);
+                yield new ProjectCreatedEvent(new ProjectId(payload.projectId()));
+            }
+            default -> throw new IllegalArgumentException("Unknown outbox event type " + event.type());
+        };
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not read outbox payload of type " + type.getSimpleName(), e);
+        }
+    }
+
+    record TeamTaskCompletedPayload(UUID teamTaskId, UUID projectTaskId, int actualSpentHours, int actualSpentMinutes) {}
+
+    record TaskAddedToProjectPayload(UUID projectId, UUID taskId) {}
+
+    record ProjectCreatedPayload(UUID projectId) {}
+}
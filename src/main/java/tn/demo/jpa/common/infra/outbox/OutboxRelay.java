@@ -0,0 +1,119 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tn.demo.jpa.common.WorkerThreads;
+import tn.demo.jpa.common.infra.datasource.DataSourceRouting;
+import tn.demo.jpa.project.view.ProjectSummaryService;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the outbox on its own worker threads. Each worker keeps claiming full batches until the outbox is drained and
+ * then sleeps for the poll interval. Events describe just-committed writes, so their handlers always read from the
+ * primary, also in read-only transactions. After draining, the worker refreshes the project summaries the delivered
+ * events marked, so a refresh that failed on an earlier poll is retried.
+ */
+@Component
+public class OutboxRelay {
+    private final OutboxBatchProcessor processor;
+    private final OutboxRepository repository;
+    private final ProjectSummaryService projectSummaries;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final boolean virtualThreads;
+    private final AtomicLong backlog = new AtomicLong();
+    private volatile ScheduledExecutorService executor;
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    OutboxRelay(OutboxBatchProcessor processor, OutboxRepository repository, ProjectSummaryService projectSummaries,
+                MeterRegistry meterRegistry,
+                @Value("${outbox.relay.enabled:true}") boolean enabled,
+                @Value("${outbox.relay.batch-size:100}") int batchSize,
+                @Value("${outbox.relay.poll-interval:500ms}") Duration pollInterval,
+                @Value("${outbox.relay.parallelism:2}") int parallelism,
+                @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (batchSize < 1 || parallelism < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Outbox relay batch size, parallelism and max attempts must be positive");
+        }
+        this.processor = processor;
+        this.repository = repository;
+        this.projectSummaries = projectSummaries;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.virtualThreads = virtualThreads;
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox events waiting for delivery")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox relay disabled");
+            return;
+        }
+        executor = Executors.newScheduledThreadPool(parallelism, WorkerThreads.named("outbox-relay-", virtualThreads));
+        for (int i = 0; i < parallelism; i++) {
+            executor.scheduleWithFixedDelay(this::drain, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    void drain() {
+        try {
+            int claimed;
+            do {
+                claimed = DataSourceRouting.onPrimary(() -> processor.processNextBatch(batchSize, maxAttempts));
+            } while (claimed == batchSize && !isShutdown());
+            backlog.set(repository.countPending(maxAttempts));
+        } catch (RuntimeException e) {
+            log.error("Outbox relay poll failed", e);
+        }
+        refreshSummaries();
+    }
+
+    private void refreshSummaries() {
+        try {
+            int refreshed;
+            do {
+                refreshed = DataSourceRouting.onPrimary(() -> projectSummaries.refreshMarked(batchSize));
+            } while (refreshed == batchSize && !isShutdown());
+        } catch (RuntimeException e) {
+            log.warn("Project summary refresh failed, marked projects are retried on the next poll", e);
+        }
+    }
+
+    private boolean isShutdown() {
+        return executor != null && executor.isShutdown();
+    }
+}
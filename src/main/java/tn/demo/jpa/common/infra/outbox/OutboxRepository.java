@@ -0,0 +1,31 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+interface OutboxRepository extends CrudRepository<OutboxEvent, UUID> {
+    /**
+     * Locks the oldest deliverable events. Rows locked by another relay worker are skipped, so concurrent workers
+     * claim disjoint batches. The locks are held until the calling transaction ends.
+     */
+    @Query(value = """
+                SELECT *
+                FROM project_demo_jpa.outbox_events e
+                WHERE e.attempts < :maxAttempts
+                ORDER BY e.created_at, e.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Query(value = """
+                SELECT count(*)
+                FROM project_demo_jpa.outbox_events e
+                WHERE e.attempts < :maxAttempts
+            """, nativeQuery = true)
+    long countPending(@Param("maxAttempts") int maxAttempts);
+}
@@ -0,0 +1,52 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.common.DateService;
+import tn.demo.jpa.common.IDService;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
+import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+/**
+ * Stores published domain events in the outbox within the transaction that changed the aggregate, so an event is
+ * persisted if and only if the change is committed.
+ */
+@Component
+class OutboxWriter {
+    private final OutboxRepository repository;
+    private final OutboxEventCodec codec;
+    private final IDService IDService;
+    private final DateService dateService;
+
+    OutboxWriter(OutboxRepository repository, OutboxEventCodec codec, IDService IDService, DateService dateService) {
+        this.repository = repository;
+        this.codec = codec;
+        this.IDService = IDService;
+        this.dateService = dateService;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(TeamTaskCompletedEvent event) {
+        append(event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(TaskAddedToProjectEvent event) {
+        append(event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(ProjectCreatedEvent event) {
+        append(event);
+    }
+
+    private void append(Object event) {
+        repository.save(OutboxEvent.pending(IDService.newEventId(), codec.encode(event), dateService.now()));
+    }
+}
@@ -0,0 +1,9 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import java.util.UUID;
+
+public class UnknownDeadLetterException extends RuntimeException {
+    public UnknownDeadLetterException(UUID id) {
+        super("Unknown dead letter event %s".formatted(id));
+    }
+}
@@ -0,0 +1,66 @@
+package tn.demo.jpa.common.infra.retry;
+
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffInterruptedException;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.Sleeper;
+import org.springframework.retry.backoff.ThreadWaitSleeper;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Exponential backoff with full jitter: before retry n the thread sleeps a uniformly random time between zero and
+ * {@code min(maxInterval, initialInterval * multiplier^(n - 1))}. Competing writers that failed together spread out
+ * instead of conflicting again in lockstep.
+ */
+public class FullJitterBackOffPolicy implements BackOffPolicy {
+    private final long initialIntervalMillis;
+    private final long maxIntervalMillis;
+    private final double multiplier;
+    private final Sleeper sleeper;
+    private final DoubleSupplier random;
+
+    public FullJitterBackOffPolicy(Duration initialInterval, Duration maxInterval, double multiplier) {
+        this(initialInterval, maxInterval, multiplier, new ThreadWaitSleeper(), () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    FullJitterBackOffPolicy(Duration initialInterval, Duration maxInterval, double multiplier, Sleeper sleeper, DoubleSupplier random) {
+        if (initialInterval.isNegative() || initialInterval.isZero() || maxInterval.compareTo(initialInterval) < 0 || multiplier < 1.0) {
+            throw new IllegalArgumentException("Invalid backoff settings");
+        }
+        this.initialIntervalMillis = initialInterval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.multiplier = multiplier;
+        this.sleeper = sleeper;
+        this.random = random;
+    }
+
+    @Override
+    public BackOffContext start(RetryContext context) {
+        return new Context();
+    }
+
+    @Override
+    public void backOff(BackOffContext backOffContext) throws BackOffInterruptedException {
+        Context context = (Context) backOffContext;
+        long cap = ceiling(context.retries++);
+        try {
+            sleeper.sleep((long) (random.getAsDouble() * cap));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackOffInterruptedException("Thread interrupted while sleeping", e);
+        }
+    }
+
+    long ceiling(int retry) {
+        double ceiling = initialIntervalMillis * Math.pow(multiplier, retry);
+        return (long) Math.min(maxIntervalMillis, ceiling);
+    }
+
+    private static final class Context implements BackOffContext {
+        private int retries;
+    }
+}
@@ -0,0 +1,49 @@
+package tn.demo.jpa.common.infra.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.policy.CompositeRetryPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.policy.TimeoutRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class RetryConfiguration {
+    /**
+     * Retries optimistic locking failures of event handlers that update an aggregate, with full jitter backoff, until
+     * either the attempt limit or the time budget runs out. The last failure is then rethrown to the caller.
+     */
+    @Bean
+    public RetryOperationsInterceptor aggregateUpdateRetryInterceptor(MeterRegistry meterRegistry,
+                                                                      @Value("${events.retry.max-attempts:8}") int maxAttempts,
+                                                                      @Value("${events.retry.time-budget:10s}") Duration timeBudget,
+                                                                      @Value("${events.retry.initial-interval:50ms}") Duration initialInterval,
+                                                                      @Value("${events.retry.max-interval:2s}") Duration maxInterval,
+                                                                      @Value("${events.retry.multiplier:2.0}") double multiplier) {
+        TimeoutRetryPolicy timeoutPolicy = new TimeoutRetryPolicy();
+        timeoutPolicy.setTimeout(timeBudget.toMillis());
+        CompositeRetryPolicy retryPolicy = new CompositeRetryPolicy();
+        retryPolicy.setPolicies(new RetryPolicy[]{
+                new SimpleRetryPolicy(maxAttempts, Map.of(OptimisticLockingFailureException.class, true), true),
+                timeoutPolicy
+        });
+
+        RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(retryPolicy);
+        retryTemplate.setBackOffPolicy(new FullJitterBackOffPolicy(initialInterval, maxInterval, multiplier));
+        retryTemplate.registerListener(new RetryMetricsListener(meterRegistry));
+
+        return RetryInterceptorBuilder.stateless()
+                .retryOperations(retryTemplate)
+                .build();
+    }
+}
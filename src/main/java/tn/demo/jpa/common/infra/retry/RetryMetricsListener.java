@@ -0,0 +1,60 @@
+package tn.demo.jpa.common.infra.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+import java.util.Optional;
+
+/**
+ * Counts optimistic locking conflicts, retries and exhausted retries, tagged with the aggregate whose version
+ * conflicted. Other errors end the retries without being counted, as they are not conflicts. A conflict is found in
+ * the cause chain as the retry policy finds it.
+ */
+public class RetryMetricsListener implements RetryListener {
+    private final MeterRegistry meterRegistry;
+
+    public RetryMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        conflictOf(throwable).ifPresent(conflict ->
+                meterRegistry.counter("retry.conflicts", "aggregate", aggregateOf(conflict)).increment());
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (context.getRetryCount() == 0) {
+            return;
+        }
+        String aggregate = aggregateOf(context.getLastThrowable());
+        int retries = throwable == null ? context.getRetryCount() : context.getRetryCount() - 1;
+        meterRegistry.counter("retry.retries", "aggregate", aggregate).increment(retries);
+        if (throwable != null && conflictOf(throwable).isPresent()) {
+            meterRegistry.counter("retry.exhausted", "aggregate", aggregate).increment();
+        }
+    }
+
+    static Optional<OptimisticLockingFailureException> conflictOf(Throwable throwable) {
+        for (Throwable current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof OptimisticLockingFailureException conflict) {
+                return Optional.of(conflict);
+            }
+        }
+        return Optional.empty();
+    }
+
+    static String aggregateOf(Throwable throwable) {
+        Throwable conflict = conflictOf(throwable).orElse(null);
+        if (conflict instanceof ObjectOptimisticLockingFailureException objectConflict && objectConflict.getPersistentClassName() != null) {
+            String className = objectConflict.getPersistentClassName();
+            return className.substring(className.lastIndexOf('.') + 1);
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,142 @@
+package tn.demo.jpa.common.infra.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Counts the SQL statements of each HTTP request. The count is recorded as the {@code sql.statements} distribution
+ * tagged with {@code scope=request} and the matched URI pattern. Requests over the statement budget and statements
+ * repeated within one request, the typical N+1 pattern, are logged as warnings. When {@code sql.statements.expose-header}
+ * is set, meant for development and test environments, the count is also returned in the
+ * {@value #HEADER} response header.
+ */
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeader;
+    private final int budget;
+    private final int repeatedThreshold;
+    private final ConcurrentMap<String, DistributionSummary> requestSummaries = new ConcurrentHashMap<>();
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCountFilter.class);
+
+    SqlStatementCountFilter(MeterRegistry meterRegistry,
+                            @Value("${sql.statements.expose-header:false}") boolean exposeHeader,
+                            @Value("${sql.statements.budget:50}") int budget,
+                            @Value("${sql.statements.repeated-threshold:10}") int repeatedThreshold) {
+        if (budget < 1 || repeatedThreshold < 2) {
+            throw new IllegalArgumentException("SQL statement budget must be positive and repeated threshold at least 2");
+        }
+        this.meterRegistry = meterRegistry;
+        this.exposeHeader = exposeHeader;
+        this.budget = budget;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            HttpServletResponse counted = exposeHeader ? new CountHeaderResponse(response, scope) : response;
+            chain.doFilter(request, counted);
+            if (exposeHeader && !response.isCommitted()) {
+                response.setIntHeader(HEADER, scope.count());
+            }
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        String uri = uriPattern(request);
+        requestSummary(uri).record(scope.count());
+        if (scope.count() > budget) {
+            log.warn("{} {} issued {} SQL statements, budget is {}", request.getMethod(), uri, scope.count(), budget);
+        }
+        for (SqlStatementCounter.RepeatedStatement repeated : scope.repeatedAtLeast(repeatedThreshold)) {
+            log.warn("Possible N+1 in {} {}: statement issued {} times: {}", request.getMethod(), uri, repeated.times(), repeated.sql());
+        }
+    }
+
+    private DistributionSummary requestSummary(String uri) {
+        return requestSummaries.computeIfAbsent(uri, key -> DistributionSummary.builder("sql.statements")
+                .description("SQL statements per unit of work")
+                .tag("scope", "request")
+                .tag("name", key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    /**
+     * Adds the header just before the first byte of the body is written, as headers cannot be changed after that.
+     * With the session not held open across the view, all statements of a request have run by then, except those of a
+     * streaming response body.
+     */
+    private static class CountHeaderResponse extends HttpServletResponseWrapper {
+        private final SqlStatementCounter.Scope scope;
+
+        CountHeaderResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        private void addCountHeader() {
+            if (!isCommitted()) {
+                setIntHeader(HEADER, scope.count());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addCountHeader();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package tn.demo.jpa.common.infra.sql;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Scope} is open. Scopes nest, a
+ * statement is counted in every open scope of the thread. Statements issued on other threads, e.g. by the outbox
+ * relay or while a streaming response is written, are not counted.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.add(sql);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Statements issued at least {@code threshold} times in this scope, most repeated first. The same statement
+         * run once per loaded parent is the usual sign of an N+1 query.
+         */
+        public List<RepeatedStatement> repeatedAtLeast(int threshold) {
+            return statements.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue()))
+                    .sorted((a, b) -> Integer.compare(b.times(), a.times()))
+                    .toList();
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() != this) {
+                throw new IllegalStateException("SQL statement scopes must be closed in reverse order of opening");
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    public record RepeatedStatement(String sql, int times) {
+    }
+}
@@ -0,0 +1,84 @@
+package tn.demo.jpa.common.infra.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sees every statement Hibernate prepares, native read model queries included. Counts it in the open
+ * {@link SqlStatementCounter} scopes and in the current Spring transaction, whose total is recorded on completion as
+ * the {@code sql.statements} distribution tagged with {@code scope=transaction} and the transaction name (the
+ * {@code @Transactional} method). A JDBC batch is prepared once and so counts as one statement.
+ * <p>
+ * The transaction's counter is bound as a transaction resource keyed by this inspector, so counting a statement is a
+ * map lookup. The counter is unbound while its transaction is suspended, so an inner {@code REQUIRES_NEW} transaction
+ * gets a counter of its own.
+ */
+public class SqlStatementInspector implements StatementInspector {
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, DistributionSummary> transactionSummaries = new ConcurrentHashMap<>();
+
+    public SqlStatementInspector(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        countInTransaction();
+        return sql;
+    }
+
+    private void countInTransaction() {
+        if (TransactionSynchronizationManager.getResource(this) instanceof TransactionStatements statements) {
+            statements.count++;
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionStatements statements = new TransactionStatements(TransactionSynchronizationManager.getCurrentTransactionName());
+        statements.count++;
+        TransactionSynchronizationManager.bindResource(this, statements);
+        TransactionSynchronizationManager.registerSynchronization(statements);
+    }
+
+    private DistributionSummary transactionSummary(String name) {
+        return transactionSummaries.computeIfAbsent(name, key -> DistributionSummary.builder("sql.statements")
+                .description("SQL statements per unit of work")
+                .tag("scope", "transaction")
+                .tag("name", key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private class TransactionStatements implements TransactionSynchronization {
+        private final String name;
+        private int count;
+
+        private TransactionStatements(String name) {
+            this.name = name == null ? "unnamed" : name;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SqlStatementInspector.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(SqlStatementInspector.this, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SqlStatementInspector.this);
+            transactionSummary(name).record(count);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package tn.demo.jpa.common.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Positions of the result columns of one query by their alias, resolved once per query.
+ */
+public final class ColumnIndex {
+    private final Map<String, Integer> positions;
+
+    private ColumnIndex(Map<String, Integer> positions) {
+        this.positions = positions;
+    }
+
+    public static ColumnIndex of(String... aliases) {
+        Map<String, Integer> positions = new HashMap<>(aliases.length * 2);
+        for (int i = 0; i < aliases.length; i++) {
+            positions.put(aliases[i].toLowerCase(), i);
+        }
+        return new ColumnIndex(positions);
+    }
+
+    public int indexOf(String alias) {
+        Integer position = positions.get(alias);
+        if (position == null) {
+            position = positions.get(alias.toLowerCase());
+        }
+        if (position == null) {
+            throw new IllegalArgumentException("Unknown column '%s', result has %s".formatted(alias, positions.keySet()));
+        }
+        return position;
+    }
+}
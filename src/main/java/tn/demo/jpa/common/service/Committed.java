@@ -0,0 +1,34 @@
+package tn.demo.jpa.common.service;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Result of a command together with the version its aggregate was committed at. The version is read from the
+ * aggregate only when asked for, which callers do after the transaction has completed: Hibernate applies the forced
+ * increments caused by child changes at commit and writes the final value back to the entity.
+ */
+public final class Committed<T> {
+    private final T value;
+    private final IntSupplier version;
+
+    private Committed(T value, IntSupplier version) {
+        this.value = value;
+        this.version = version;
+    }
+
+    public static <T> Committed<T> of(T value, IntSupplier version) {
+        return new Committed<>(value, version);
+    }
+
+    public static Committed<Void> of(IntSupplier version) {
+        return new Committed<>(null, version);
+    }
+
+    public T value() {
+        return value;
+    }
+
+    public int version() {
+        return version.getAsInt();
+    }
+}
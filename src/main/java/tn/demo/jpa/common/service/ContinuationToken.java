@@ -0,0 +1,40 @@
+package tn.demo.jpa.common.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+public record ContinuationToken(UUID lastId) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public ContinuationToken {
+        Objects.requireNonNull(lastId, "ContinuationToken lastId cannot be null");
+    }
+
+    public static Optional<ContinuationToken> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return Optional.of(new ContinuationToken(new UUID(buffer.getLong(), buffer.getLong())));
+    }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+}
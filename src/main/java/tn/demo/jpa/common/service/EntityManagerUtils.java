@@ -1,34 +1,114 @@
 package tn.demo.jpa.common.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
-import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.TupleTransformer;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Component
 public class EntityManagerUtils {
     private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> queryTimers = new ConcurrentHashMap<>();
 
-    public EntityManagerUtils(EntityManager entityManager) {
+    public EntityManagerUtils(EntityManager entityManager, MeterRegistry meterRegistry) {
         this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
     }
 
-    public <T> List<T> find(String sql, Map<String, Object> params, Function<EntityRecord, ? extends T> mapper) {
-        Query nativeQuery = entityManager.createNativeQuery(sql, Tuple.class);
-        params.forEach(setParam(nativeQuery));
-        List<Tuple> result = nativeQuery.getResultList();
-        List<EntityRecord> records = result.stream()
-                .map(EntityRecord::new)
-                .toList();
-        return (List<T>) records.stream().map(mapper).toList();
+    /**
+     * Runs the query and maps every row, reading columns by name. The time spent, mapping included, is recorded in
+     * the {@code db.query} timer tagged with {@code queryName}, which must come from a small fixed set.
+     */
+    public <T> List<T> find(String queryName, String sql, Map<String, Object> params, Function<EntityRecord, ? extends T> mapper) {
+        return findRows(queryName, sql, params, RowMapping.byName(mapper));
     }
 
-    private BiConsumer<String, Object> setParam(Query nativeQuery) {
-        return (s, o) -> nativeQuery.setParameter(s, o);
+    /**
+     * Like {@link #find}, but the column positions are resolved once for the query and each row is mapped straight
+     * into the result list as Hibernate reads it, without intermediate tuples or lists.
+     */
+    public <T> List<T> findRows(String queryName, String sql, Map<String, Object> params, RowMapping<? extends T> mapping) {
+        return queryTimer(queryName).record(() -> this.<T>createQuery(sql, params, mapping).getResultList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the result through a forward-only cursor, reading columns by name. Must be called inside a transaction,
+     * otherwise the PostgreSQL driver ignores the fetch size and buffers the whole result. The returned stream must be
+     * closed. Only opening the cursor is recorded in the {@code db.query} timer, as the rows are consumed at the
+     * caller's pace.
+     */
+    public <T> Stream<T> stream(String queryName, String sql, Map<String, Object> params, int fetchSize, Function<EntityRecord, ? extends T> mapper) {
+        return streamRows(queryName, sql, params, fetchSize, RowMapping.byName(mapper));
+    }
+
+    /**
+     * Like {@link #stream}, mapping rows by column position.
+     */
+    public <T> Stream<T> streamRows(String queryName, String sql, Map<String, Object> params, int fetchSize, RowMapping<? extends T> mapping) {
+        return queryTimer(queryName).record(() -> {
+            NativeQuery<T> nativeQuery = this.<T>createQuery(sql, params, mapping);
+            nativeQuery.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+            return nativeQuery.getResultStream();
+        });
+    }
+
+    /**
+     * Runs a native insert, update or delete in the current transaction, recorded in the {@code db.query} timer like
+     * the reads.
+     *
+     * @return number of affected rows
+     */
+    public int execute(String queryName, String sql, Map<String, Object> params) {
+        return queryTimer(queryName).record(() -> {
+            var nativeQuery = entityManager.createNativeQuery(sql);
+            params.forEach((name, value) -> nativeQuery.setParameter(name, value));
+            return nativeQuery.executeUpdate();
+        });
+    }
+
+    private <T> NativeQuery<T> createQuery(String sql, Map<String, Object> params, RowMapping<? extends T> mapping) {
+        NativeQuery<T> nativeQuery = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        params.forEach((name, value) -> nativeQuery.setParameter(name, value));
+        nativeQuery.setTupleTransformer(new RowTransformer<>(mapping));
+        return nativeQuery;
+    }
+
+    private Timer queryTimer(String queryName) {
+        return queryTimers.computeIfAbsent(queryName, name -> Timer.builder("db.query")
+                .description("Native read model queries")
+                .tag("query", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Binds the mapping to the column aliases of the first row; the aliases are the same for every row of a query.
+     */
+    private static class RowTransformer<T> implements TupleTransformer<T> {
+        private final RowMapping<? extends T> mapping;
+        private Function<Object[], ? extends T> rows;
+
+        private RowTransformer(RowMapping<? extends T> mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public T transformTuple(Object[] tuple, String[] aliases) {
+            if (rows == null) {
+                rows = mapping.forColumns(aliases);
+            }
+            return rows.apply(tuple);
+        }
+    }
+}
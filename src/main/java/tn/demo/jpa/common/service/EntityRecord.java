@@ -2,35 +2,40 @@ package tn.demo.jpa.common.service;
 
 import jakarta.persistence.Tuple;
 
-import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class EntityRecord {
-    private final Tuple data;
+    private final Function<String, Object> data;
 
     public EntityRecord(Tuple data) {
-        this.data = data;
+        this.data = data::get;
+    }
+
+    EntityRecord(Row row) {
+        this.data = key -> row.get(row.columns().indexOf(key));
     }
 
     public String getString(String key){
-        return data.get(key, String.class);
+        return (String) data.apply(key);
     }
 
     public UUID getUUID(String key){
-        return data.get(key, UUID.class);
+        return (UUID) data.apply(key);
     }
 
     public Integer getInteger(String key){
-        return data.get(key, Integer.class);
+        return Row.toInteger(data.apply(key));
     }
 
     public LocalDateTime getLocalDateTime(String key){
-        Timestamp ts = data.get(key, Timestamp.class);
-        if(ts == null){
-            return null;
-        }
-        return ts.toLocalDateTime();
+        return Row.toLocalDateTime(data.apply(key));
+    }
+
+    public LocalDate getLocalDate(String key){
+        return Row.toLocalDate(data.apply(key));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package tn.demo.jpa.common.service;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate versions a command was issued against. Commands given concrete versions fail with
+ * {@link VersionMismatchException} unless the current version is one of them, instead of acting on state the caller
+ * has not seen. An empty set of versions never matches.
+ */
+public final class ExpectedVersion {
+    public static final ExpectedVersion ANY = new ExpectedVersion(null);
+
+    private final Set<Integer> versions;
+
+    private ExpectedVersion(Set<Integer> versions) {
+        this.versions = versions;
+    }
+
+    public static ExpectedVersion of(int version) {
+        return new ExpectedVersion(Set.of(version));
+    }
+
+    public static ExpectedVersion oneOf(Set<Integer> versions) {
+        return new ExpectedVersion(Set.copyOf(versions));
+    }
+
+    public boolean isAny() {
+        return versions == null;
+    }
+
+    public void verify(int currentVersion) {
+        if (versions != null && !versions.contains(currentVersion)) {
+            throw new VersionMismatchException(this, currentVersion);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (isAny()) {
+            return "any";
+        }
+        if (versions.isEmpty()) {
+            return "none";
+        }
+        return versions.stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(" or "));
+    }
+}
@@ -0,0 +1,15 @@
+package tn.demo.jpa.common.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+public record KeysetPage<T>(List<T> items, String next) {
+
+    public static <R, T> KeysetPage<T> of(List<R> rows, PageLimit limit, Function<R, UUID> idOf, Function<R, T> mapper) {
+        boolean hasNext = rows.size() > limit.size();
+        List<R> pageRows = hasNext ? rows.subList(0, limit.size()) : rows;
+        String next = hasNext ? new ContinuationToken(idOf.apply(pageRows.get(pageRows.size() - 1))).encode() : null;
+        return new KeysetPage<>(pageRows.stream().map(mapper).toList(), next);
+    }
+}
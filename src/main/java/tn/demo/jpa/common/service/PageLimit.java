@@ -0,0 +1,19 @@
+package tn.demo.jpa.common.service;
+
+public record PageLimit(int size) {
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 500;
+
+    public PageLimit {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and %d".formatted(MAX_SIZE));
+        }
+    }
+
+    /**
+     * One row more than the page size is fetched so that the existence of a next page is known without a count query.
+     */
+    public int fetchSize() {
+        return size + 1;
+    }
+}
@@ -0,0 +1,89 @@
+package tn.demo.jpa.common.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cursor over the rows of one query result. A single instance is moved from row to row, so mappers must copy the
+ * values they need and not keep the row itself.
+ */
+public final class Row {
+    private final ColumnIndex columns;
+    private Object[] values;
+
+    Row(ColumnIndex columns) {
+        this.columns = columns;
+    }
+
+    void moveTo(Object[] values) {
+        this.values = values;
+    }
+
+    public ColumnIndex columns() {
+        return columns;
+    }
+
+    public Object get(int position) {
+        return values[position];
+    }
+
+    public String getString(int position) {
+        return (String) values[position];
+    }
+
+    public UUID getUUID(int position) {
+        return (UUID) values[position];
+    }
+
+    public Integer getInteger(int position) {
+        return toInteger(values[position]);
+    }
+
+    public Long getLong(int position) {
+        Object value = values[position];
+        if (value == null || value instanceof Long) {
+            return (Long) value;
+        }
+        return ((Number) value).longValue();
+    }
+
+    public Float getFloat(int position) {
+        Object value = values[position];
+        if (value == null || value instanceof Float) {
+            return (Float) value;
+        }
+        return ((Number) value).floatValue();
+    }
+
+    public LocalDateTime getLocalDateTime(int position) {
+        return toLocalDateTime(values[position]);
+    }
+
+    public LocalDate getLocalDate(int position) {
+        return toLocalDate(values[position]);
+    }
+
+    static Integer toInteger(Object value) {
+        if (value == null || value instanceof Integer) {
+            return (Integer) value;
+        }
+        return ((Number) value).intValue();
+    }
+
+    static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
@@ -0,0 +1,33 @@
+package tn.demo.jpa.common.service;
+
+import java.util.function.Function;
+
+/**
+ * Maps query rows by column position. {@link #bind(ColumnIndex)} is called once per query to look up the positions
+ * of the columns the mapper reads; the returned function is then applied to every row.
+ */
+@FunctionalInterface
+public interface RowMapping<T> {
+    Function<Row, T> bind(ColumnIndex columns);
+
+    /**
+     * Binds this mapping to a result with the given column aliases. The returned function maps raw row values and
+     * reuses one {@link Row} for all of them, so it must not be shared between queries or threads.
+     */
+    default Function<Object[], T> forColumns(String... aliases) {
+        Row row = new Row(ColumnIndex.of(aliases));
+        Function<Row, T> mapper = bind(row.columns());
+        return values -> {
+            row.moveTo(values);
+            return mapper.apply(row);
+        };
+    }
+
+    /**
+     * Adapts a mapper reading columns by name. Every read looks the column up by its alias, so positional mappings
+     * are preferable for queries returning many rows.
+     */
+    static <T> RowMapping<T> byName(Function<EntityRecord, ? extends T> mapper) {
+        return columns -> row -> mapper.apply(new EntityRecord(row));
+    }
+}
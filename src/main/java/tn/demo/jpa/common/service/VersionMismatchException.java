@@ -0,0 +1,20 @@
+package tn.demo.jpa.common.service;
+
+public class VersionMismatchException extends RuntimeException {
+    private final ExpectedVersion expectedVersion;
+    private final int currentVersion;
+
+    public VersionMismatchException(ExpectedVersion expectedVersion, int currentVersion) {
+        super("Expected version %s but current version is %d".formatted(expectedVersion, currentVersion));
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public ExpectedVersion getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public int getCurrentVersion() {
+        return currentVersion;
+    }
+}
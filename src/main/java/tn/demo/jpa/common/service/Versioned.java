@@ -0,0 +1,4 @@
+package tn.demo.jpa.common.service;
+
+public record Versioned<T>(T value, int version) {
+}
@@ -0,0 +1,64 @@
+package tn.demo.jpa.common.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for aggregate views. Every read first looks up the current {@code @Version} of the aggregate,
+ * which is a primary key lookup, and the cached view is only used if it was built from that same version. A committed
+ * change to the aggregate or any of its children bumps the version, so the entry is replaced on the next read.
+ */
+public final class VersionedViewCache<V> {
+    private final boolean enabled;
+    private final Cache<UUID, Versioned<V>> cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VersionedViewCache(String name, boolean enabled, long maximumSize, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        Counter evictions = Counter.builder("cache.evictions").tag("cache", name).register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .removalListener((UUID id, Versioned<V> view, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("cache.size", cache, Cache::estimatedSize).tag("cache", name).register(meterRegistry);
+    }
+
+    public Optional<Versioned<V>> get(UUID id, Function<UUID, Optional<Integer>> currentVersion,
+                                      Function<UUID, Optional<Versioned<V>>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        Optional<Integer> version = currentVersion.apply(id);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        Versioned<V> cached = cache.getIfPresent(id);
+        if (cached != null && cached.version() == version.get()) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        Optional<Versioned<V>> loaded = loader.apply(id);
+        loaded.ifPresent(view -> cache.asMap().merge(id, view, VersionedViewCache::newer));
+        return loaded;
+    }
+
+    private static <V> Versioned<V> newer(Versioned<V> existing, Versioned<V> candidate) {
+        return candidate.version() >= existing.version() ? candidate : existing;
+    }
+}
@@ -1,15 +1,25 @@
 package tn.demo.jpa.consent.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import tn.demo.jpa.consent.repository.EmailOptOutRepository;
+import tn.demo.jpa.consent.service.IndexedOptOutNotificationPolicy;
 import tn.demo.jpa.consent.service.OptOutNotificationPolicy;
 import tn.demo.jpa.project.domain.EmailNotificationPolicy;
 
 @Configuration
 public class ConsentConfiguration {
     @Bean
+    @ConditionalOnProperty(name = "consent.opt-out-index.enabled", havingValue = "false", matchIfMissing = true)
     public EmailNotificationPolicy emailNotificationPolicy(EmailOptOutRepository emailOptOuts){
         return new OptOutNotificationPolicy(emailOptOuts);
     }
+
+    @Bean(initMethod = "load")
+    @ConditionalOnProperty(name = "consent.opt-out-index.enabled", havingValue = "true")
+    public IndexedOptOutNotificationPolicy indexedEmailNotificationPolicy(EmailOptOutRepository emailOptOuts, MeterRegistry meterRegistry){
+        return new IndexedOptOutNotificationPolicy(emailOptOuts, meterRegistry);
+    }
 }
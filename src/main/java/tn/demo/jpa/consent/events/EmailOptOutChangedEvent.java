@@ -0,0 +1,38 @@
+package tn.demo.jpa.consent.events;
+
+import org.springframework.context.ApplicationEvent;
+import tn.demo.jpa.common.domain.EmailAddress;
+
+import java.util.Objects;
+
+public class EmailOptOutChangedEvent extends ApplicationEvent {
+    private final EmailAddress emailAddress;
+    private final boolean optedOut;
+
+    public EmailOptOutChangedEvent(EmailAddress emailAddress, boolean optedOut) {
+        super(emailAddress);
+        this.emailAddress = emailAddress;
+        this.optedOut = optedOut;
+    }
+
+    public EmailAddress getEmailAddress() {
+        return emailAddress;
+    }
+
+    public boolean isOptedOut() {
+        return optedOut;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EmailOptOutChangedEvent that = (EmailOptOutChangedEvent) o;
+        return optedOut == that.optedOut && emailAddress.equals(that.emailAddress);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(emailAddress, optedOut);
+    }
+}
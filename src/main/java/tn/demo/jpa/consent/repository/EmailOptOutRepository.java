@@ -1,8 +1,14 @@
 package tn.demo.jpa.consent.repository;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import tn.demo.jpa.consent.domain.EmailOptOut;
 
+import java.util.List;
+
 public interface EmailOptOutRepository extends CrudRepository<EmailOptOut, String> {
     boolean existsByEmail(String email);
+
+    @Query("SELECT o.email FROM EmailOptOut o")
+    List<String> findAllEmails();
 }
@@ -0,0 +1,36 @@
+package tn.demo.jpa.consent.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.common.domain.EmailAddress;
+import tn.demo.jpa.consent.domain.EmailOptOut;
+import tn.demo.jpa.consent.events.EmailOptOutChangedEvent;
+import tn.demo.jpa.consent.repository.EmailOptOutRepository;
+
+import java.time.LocalDateTime;
+
+@Service
+public class EmailOptOutService {
+    private final EmailOptOutRepository optOuts;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public EmailOptOutService(EmailOptOutRepository optOuts, ApplicationEventPublisher applicationEventPublisher) {
+        this.optOuts = optOuts;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Transactional
+    public void optOut(EmailAddress emailAddress) {
+        if (!optOuts.existsByEmail(emailAddress.value())) {
+            optOuts.save(EmailOptOut.optOut(emailAddress, LocalDateTime.now()));
+        }
+        applicationEventPublisher.publishEvent(new EmailOptOutChangedEvent(emailAddress, true));
+    }
+
+    @Transactional
+    public void optBackIn(EmailAddress emailAddress) {
+        optOuts.deleteById(emailAddress.value());
+        applicationEventPublisher.publishEvent(new EmailOptOutChangedEvent(emailAddress, false));
+    }
+}
@@ -0,0 +1,101 @@
+package tn.demo.jpa.consent.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tn.demo.jpa.common.domain.EmailAddress;
+import tn.demo.jpa.consent.events.EmailOptOutChangedEvent;
+import tn.demo.jpa.consent.repository.EmailOptOutRepository;
+import tn.demo.jpa.project.domain.EmailNotificationPolicy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers opt-out checks from an in-memory copy of {@code email_opt_outs}. The copy is reloaded in full every refresh
+ * interval, so rows written by other instances, whatever their timestamp, and deleted rows are both picked up. Changes
+ * made through {@link EmailOptOutService} on this instance are applied at once when their transaction commits, and
+ * are kept across a reload that may have read the table before that commit.
+ */
+public class IndexedOptOutNotificationPolicy implements EmailNotificationPolicy {
+    private final EmailOptOutRepository optOuts;
+    private final Counter lookupsAvoided;
+    private final Object changes = new Object();
+    private volatile Set<String> optedOutEmails = ConcurrentHashMap.newKeySet();
+    private Map<String, Boolean> changesDuringLoad = new HashMap<>();
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedOptOutNotificationPolicy.class);
+
+    public IndexedOptOutNotificationPolicy(EmailOptOutRepository optOuts, MeterRegistry meterRegistry) {
+        this.optOuts = optOuts;
+        this.lookupsAvoided = Counter.builder("consent.optout.lookups.avoided")
+                .description("Opt-out checks answered without a database query")
+                .register(meterRegistry);
+        Gauge.builder("consent.optout.index.size", this, policy -> policy.optedOutEmails.size()).register(meterRegistry);
+    }
+
+    public synchronized void load() {
+        synchronized (changes) {
+            changesDuringLoad = new HashMap<>();
+        }
+        List<String> emails = optOuts.findAllEmails();
+        Set<String> loaded = ConcurrentHashMap.newKeySet(emails.size());
+        loaded.addAll(emails);
+        synchronized (changes) {
+            changesDuringLoad.forEach((email, optedOut) -> apply(loaded, email, optedOut));
+            optedOutEmails = loaded;
+        }
+        log.debug("Loaded {} email opt-outs", loaded.size());
+    }
+
+    @Scheduled(fixedDelayString = "${consent.opt-out-index.refresh-interval:30s}",
+            initialDelayString = "${consent.opt-out-index.refresh-interval:30s}")
+    public void refresh() {
+        load();
+    }
+
+    @TransactionalEventListener
+    public void on(EmailOptOutChangedEvent event) {
+        if (event.isOptedOut()) {
+            optedOut(event.getEmailAddress());
+        } else {
+            optedBackIn(event.getEmailAddress());
+        }
+    }
+
+    public void optedOut(EmailAddress emailAddress) {
+        record(emailAddress.value(), true);
+    }
+
+    public void optedBackIn(EmailAddress emailAddress) {
+        record(emailAddress.value(), false);
+    }
+
+    private void record(String email, boolean optedOut) {
+        synchronized (changes) {
+            changesDuringLoad.put(email, optedOut);
+            apply(optedOutEmails, email, optedOut);
+        }
+    }
+
+    private static void apply(Set<String> emails, String email, boolean optedOut) {
+        if (optedOut) {
+            emails.add(email);
+        } else {
+            emails.remove(email);
+        }
+    }
+
+    @Override
+    public boolean notificationToEmailIsAllowed(EmailAddress emailAddress) {
+        lookupsAvoided.increment();
+        return !optedOutEmails.contains(emailAddress.value());
+    }
+}
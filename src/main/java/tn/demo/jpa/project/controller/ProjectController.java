@@ -1,16 +1,38 @@
 package tn.demo.jpa.project.controller;
 
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import tn.demo.jpa.common.ConditionalResponses;
+import tn.demo.jpa.common.EntityTags;
+import tn.demo.jpa.common.service.KeysetPage;
+import tn.demo.jpa.common.service.PageLimit;
 import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.domain.ProjectStatus;
+import tn.demo.jpa.project.domain.ProjectTaskId;
 import tn.demo.jpa.project.service.ProjectService;
+import tn.demo.jpa.project.view.PortfolioRollupView;
+import tn.demo.jpa.project.view.ProjectExportService;
+import tn.demo.jpa.project.view.ProjectRollupService;
+import tn.demo.jpa.project.view.ProjectSearchService;
+import tn.demo.jpa.project.view.ProjectSearchView;
+import tn.demo.jpa.project.view.ProjectSummaryService;
+import tn.demo.jpa.project.view.ProjectSummaryView;
 import tn.demo.jpa.project.view.ProjectView;
 import tn.demo.jpa.project.view.ProjectViewService;
+import tn.demo.jpa.project.view.ProjectsFilter;
 import tn.demo.jpa.project.view.ProjectsView;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,39 +41,102 @@ import java.util.UUID;
 public class ProjectController {
     private final ProjectService service;
     private final ProjectViewService projectViewService;
+    private final ProjectExportService projectExportService;
+    private final ProjectSummaryService projectSummaryService;
+    private final ProjectSearchService projectSearchService;
+    private final ProjectRollupService projectRollupService;
+    private final Duration exportTimeout;
 
-    public ProjectController(ProjectService service, ProjectViewService projectViewService) {
+    public ProjectController(ProjectService service, ProjectViewService projectViewService, ProjectExportService projectExportService,
+                             ProjectSummaryService projectSummaryService, ProjectSearchService projectSearchService,
+                             ProjectRollupService projectRollupService,
+                             @Value("${export.projects.timeout:30m}") Duration exportTimeout) {
         this.service = service;
         this.projectViewService = projectViewService;
+        this.projectExportService = projectExportService;
+        this.projectSummaryService = projectSummaryService;
+        this.projectSearchService = projectSearchService;
+        this.projectRollupService = projectRollupService;
+        this.exportTimeout = exportTimeout;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Void> create(@RequestBody ProjectInput projectInput) {
-        UUID projectId = service.createProject(projectInput.name(), projectInput.description(), projectInput.estimatedEndDate(), projectInput.estimation(), projectInput.contactPersonInput()).value();
-        return createdPath("/projects/" + projectId);
+        var projectId = service.createProject(projectInput.name(), projectInput.description(), projectInput.estimatedEndDate(), projectInput.estimation(), projectInput.contactPersonInput());
+        return createdPath("/projects/" + projectId.value().value(), projectId.version());
     }
 
     @PostMapping("/{id}/tasks")
-    public ResponseEntity<Void> addTask(@PathVariable UUID id, @RequestBody TaskInput taskInput) {
-        UUID taskId = service.addTaskTo(new ProjectId(id), taskInput.name(), taskInput.description(), taskInput.estimation()).value();
-        return createdPath("/projects/" + id + "/tasks/" + taskId);
+    public ResponseEntity<Void> addTask(@PathVariable UUID id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestBody TaskInput taskInput) {
+        var taskId = service.addTaskTo(new ProjectId(id), EntityTags.expectedVersion(ifMatch), taskInput.name(), taskInput.description(), taskInput.estimation());
+        return createdPath("/projects/" + id + "/tasks/" + taskId.value().value(), taskId.version());
+    }
+
+    @PostMapping("/{id}/tasks:batch")
+    public ResponseEntity<List<UUID>> addTasks(@PathVariable UUID id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestBody List<TaskInput> taskInputs) {
+        var result = service.addTasksTo(new ProjectId(id), EntityTags.expectedVersion(ifMatch), taskInputs);
+        List<UUID> taskIds = result.value().stream()
+                .map(ProjectTaskId::value)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(result.version())).body(taskIds);
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectsView>> findAll() {
-        return ResponseEntity.ok(projectViewService.findAll());
+    public ResponseEntity<KeysetPage<ProjectsView>> findAll(@RequestParam(required = false) ProjectStatus status,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate plannedEndFrom,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate plannedEndTo,
+                                                            @RequestParam(required = false) String continuationToken,
+                                                            @RequestParam(defaultValue = "" + PageLimit.DEFAULT_SIZE) int size) {
+        var filter = new ProjectsFilter(status, plannedEndFrom, plannedEndTo);
+        return ResponseEntity.ok(projectViewService.findAll(filter, continuationToken, new PageLimit(size)));
+    }
+
+    @GetMapping("/summaries")
+    public ResponseEntity<KeysetPage<ProjectSummaryView>> findSummaries(@RequestParam(required = false) String continuationToken,
+                                                                       @RequestParam(defaultValue = "" + PageLimit.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(projectSummaryService.findAll(continuationToken, new PageLimit(size)));
+    }
+
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<Integer> rebuildSummaries() {
+        return ResponseEntity.ok(projectSummaryService.rebuild());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<KeysetPage<ProjectSearchView>> search(@RequestParam String q,
+                                                                @RequestParam(defaultValue = "false") boolean includeTasks,
+                                                                @RequestParam(required = false) String continuationToken,
+                                                                @RequestParam(defaultValue = "" + PageLimit.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(projectSearchService.search(q, includeTasks, continuationToken, new PageLimit(size)));
+    }
+
+    @GetMapping("/rollup")
+    public ResponseEntity<PortfolioRollupView> rollup(@RequestParam(defaultValue = "true") boolean includeProjects) {
+        return ResponseEntity.ok(projectRollupService.rollup(includeProjects));
+    }
+
+    /**
+     * Streams the export on an async thread with its own timeout, so other async requests keep the default one.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            projectExportService.exportTo(response.getOutputStream());
+            return null;
+        });
     }
 
     @GetMapping("/{projectId}")
-    public ResponseEntity<ProjectView> findOne(@PathVariable UUID projectId) {
-        return projectViewService.findOne(projectId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<ProjectView> findOne(@PathVariable UUID projectId,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.view(ifNoneMatch, () -> projectViewService.findVersion(projectId),
+                () -> projectViewService.findOne(projectId));
     }
 
-    private ResponseEntity<Void> createdPath(String path) {
-        return ResponseEntity.created(URI.create(path)).build();
+    private ResponseEntity<Void> createdPath(String path, int version) {
+        return ResponseEntity.created(URI.create(path)).eTag(EntityTags.of(version)).build();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package tn.demo.jpa.project.domain;
+
+import java.util.Objects;
+
+public record NewProjectTask(ProjectTaskId taskId, String title, String description, TimeEstimation estimation) {
+    public NewProjectTask {
+        Objects.requireNonNull(taskId, "NewProjectTask taskId cannot be null");
+        Objects.requireNonNull(estimation, "NewProjectTask estimation cannot be null");
+    }
+}
@@ -27,8 +27,13 @@ public class Project {
     private int initialEstimationHours;
     @Column(name = "initial_estimated_time_minutes")
     private int initialEstimationMinutes;
+    @Column(name = "total_estimated_minutes")
+    private int totalEstimatedMinutes;
+    @Column(name = "open_task_count")
+    private int openTaskCount;
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<ProjectTask> tasks = new HashSet<>();
+    @MapKey(name = "id")
+    private Map<UUID, ProjectTask> tasks = new HashMap<>();
 
     private String contactPersonName;
     private String contactPersonEmail;
@@ -47,9 +52,11 @@ public class Project {
         this.plannedEndDate = plannedEndDate;
         this.status = ProjectStatus.PLANNED;
         this.version = 0;
-        this.tasks = new HashSet<>();
+        this.tasks = new HashMap<>();
         this.initialEstimationHours = timeEstimation.getHours();
         this.initialEstimationMinutes = timeEstimation.getMinutes();
+        this.totalEstimatedMinutes = 0;
+        this.openTaskCount = 0;
         this.contactPersonName = contactPerson.name();
         this.contactPersonEmail = contactPerson.email().value();
     }
@@ -62,17 +69,53 @@ public class Project {
         return id;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Adds the task to the task collection, from which it is persisted by cascade. The collection is loaded first if
+     * it is not loaded yet, so adding a task reads the project's tasks once; that load is recorded in
+     * {@code aggregate.children{aggregate=Project,collection=tasks}}. Keeping every task in the collection lets
+     * {@link #getTask} and {@link #completeTask} see a task added earlier in the same session.
+     */
     public void addTask(ProjectTaskId taskId, String title, String description, TimeEstimation estimation) {
+        verifyTasksCanBeAdded(estimation);
+
+        tasks.put(taskId.value(), ProjectTask.newInstance(this, taskId, title, description, estimation));
+        taskAdded(estimation);
+    }
+
+    /**
+     * Adds all tasks or none of them, loading the task collection at most once as in {@link #addTask}.
+     */
+    public void addTasks(List<NewProjectTask> newTasks) {
+        var estimationOfNewTasks = newTasks.stream()
+                .map(NewProjectTask::estimation)
+                .reduce(TimeEstimation::add)
+                .orElseGet(TimeEstimation::zeroEstimation);
+        verifyTasksCanBeAdded(estimationOfNewTasks);
+
+        newTasks.forEach(task -> {
+            tasks.put(task.taskId().value(), ProjectTask.newInstance(this, task.taskId(), task.title(), task.description(), task.estimation()));
+            taskAdded(task.estimation());
+        });
+    }
+
+    private void taskAdded(TimeEstimation estimation) {
+        totalEstimatedMinutes += estimation.toTotalMinutes();
+        openTaskCount++;
+    }
+
+    private void verifyTasksCanBeAdded(TimeEstimation additionalEstimation) {
         if (isCompleted()) {
             throw new ProjectAlreadyCompletedException(new ProjectId(id));
         }
         var currentTotalEstimation = getEstimationOfAllTasks();
-        var newEstimation = currentTotalEstimation.add(estimation);
+        var newEstimation = currentTotalEstimation.add(additionalEstimation);
         if (newEstimation.exceedsOther(getInitialEstimation())) {
             throw new ProjectTimeEstimationWouldBeExceededException("Cannot add any more tasks, project estimation would be exceeded");
         }
-
-        tasks.add(ProjectTask.newInstance(this, taskId, title, description, estimation));
     }
 
     TimeEstimation getInitialEstimation() {
@@ -80,26 +123,20 @@ public class Project {
     }
 
     public void completeTask(ProjectTaskId taskId, ActualSpentTime actualSpentTime) {
-        verifyContainsTask(taskId);
+        var task = findTask(taskId);
 
-        tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .forEach(task -> task.complete(actualSpentTime));
+        if (!task.isCompleted()) {
+            openTaskCount--;
+        }
+        task.complete(actualSpentTime);
 
-        if (areAllTasksCompleted()) {
+        if (openTaskCount == 0) {
             this.status = ProjectStatus.COMPLETED;
         }
     }
 
-    private boolean areAllTasksCompleted() {
-        return tasks.stream()
-                .allMatch(ProjectTask::isCompleted);
-    }
-
-    private void verifyContainsTask(ProjectTaskId projectTaskId) {
-        tasks.stream()
-                .filter(task -> task.hasId(projectTaskId))
-                .findFirst()
+    private ProjectTask findTask(ProjectTaskId projectTaskId) {
+        return Optional.ofNullable(tasks.get(projectTaskId.value()))
                 .orElseThrow(() -> new UnknownProjectTaskIdException(projectTaskId));
     }
 
@@ -108,17 +145,12 @@ public class Project {
     }
 
     public Optional<ProjectTaskSnapshot> getTask(ProjectTaskId projectTaskId) {
-        return tasks.stream()
-                .filter(task -> task.hasId(projectTaskId))
-                .map(task -> task.toSnapshot(new ProjectId(this.getId())))
-                .findFirst();
+        return Optional.ofNullable(tasks.get(projectTaskId.value()))
+                .map(task -> task.toSnapshot(new ProjectId(this.getId())));
     }
 
     public TimeEstimation getEstimationOfAllTasks() {
-        return tasks.stream()
-                .map(ProjectTask::getEstimation)
-                .reduce(TimeEstimation::add)
-                .orElseGet(TimeEstimation::zeroEstimation);
+        return TimeEstimation.fromMinutes(totalEstimatedMinutes);
     }
 
     public Optional<EmailAddress> validContactEmail() {
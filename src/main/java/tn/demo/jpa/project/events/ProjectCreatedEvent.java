@@ -0,0 +1,32 @@
+package tn.demo.jpa.project.events;
+
+import org.springframework.context.ApplicationEvent;
+import tn.demo.jpa.project.domain.ProjectId;
+
+import java.util.Objects;
+
+public class ProjectCreatedEvent extends ApplicationEvent {
+    private final ProjectId projectId;
+
+    public ProjectCreatedEvent(ProjectId projectId) {
+        super(projectId);
+        this.projectId = projectId;
+    }
+
+    public ProjectId getProjectId() {
+        return projectId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProjectCreatedEvent that = (ProjectCreatedEvent) o;
+        return projectId.equals(that.projectId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId);
+    }
+}
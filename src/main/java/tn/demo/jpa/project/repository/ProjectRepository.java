@@ -5,6 +5,8 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 import tn.demo.jpa.project.domain.Project;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +20,16 @@ public interface ProjectRepository extends CrudRepository<Project, UUID> {
             """)
     Optional<Project> findByTaskId(@Param("taskId") UUID taskId);
 
+    @Query("""
+                SELECT new tn.demo.jpa.project.repository.ProjectTaskOwner(t.id, t.project.id)
+                FROM ProjectTask t
+                WHERE t.id IN :taskIds
+            """)
+    List<ProjectTaskOwner> findOwnersOfTasks(@Param("taskIds") Collection<UUID> taskIds);
+
+    @Query("SELECT p.version FROM Project p WHERE p.id = :projectId")
+    Optional<Integer> findVersion(@Param("projectId") UUID projectId);
+
     default Project add(Project project) {
         return save(project);
     }
@@ -0,0 +1,5 @@
+package tn.demo.jpa.project.repository;
+
+import java.util.UUID;
+
+public record ProjectTaskOwner(UUID taskId, UUID projectId) {}
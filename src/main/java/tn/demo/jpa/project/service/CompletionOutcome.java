@@ -0,0 +1,17 @@
+package tn.demo.jpa.project.service;
+
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+public record CompletionOutcome(TeamTaskCompletedEvent event, RuntimeException failure) {
+    static CompletionOutcome completed(TeamTaskCompletedEvent event) {
+        return new CompletionOutcome(event, null);
+    }
+
+    static CompletionOutcome failed(TeamTaskCompletedEvent event, RuntimeException failure) {
+        return new CompletionOutcome(event, failure);
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
@@ -1,15 +1,12 @@
 package tn.demo.jpa.project.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.OptimisticLockingFailureException;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Recover;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.event.TransactionalEventListener;
 import tn.demo.jpa.common.EmailClientService;
 import tn.demo.jpa.common.EmailMessage;
 import tn.demo.jpa.common.domain.EmailAddress;
@@ -17,15 +14,24 @@ import tn.demo.jpa.project.domain.EmailNotificationPolicy;
 import tn.demo.jpa.project.domain.Project;
 import tn.demo.jpa.project.domain.ProjectTaskId;
 import tn.demo.jpa.project.domain.ProjectTaskSnapshot;
+import tn.demo.jpa.project.domain.UnknownProjectIdException;
+import tn.demo.jpa.project.domain.UnknownProjectTaskIdException;
 import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
 import tn.demo.jpa.project.repository.ProjectRepository;
 import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
 
+/**
+ * Handlers for domain events. Events are stored in the outbox by the publishing transaction and delivered here by
+ * {@link tn.demo.jpa.common.infra.outbox.OutboxRelay}, each handler running in a transaction of its own.
+ * Handling time is recorded in the {@code events.handling} timer.
+ */
 @Component
+@Timed(value = "events.handling", histogram = true)
 public class DomainEventListeners {
     private final ProjectRepository projects;
     private final EmailClientService emailClientService;
@@ -44,27 +50,29 @@ public class DomainEventListeners {
         this.sender = EmailAddress.of(sender);
     }
 
-    @Retryable(
-            recover = "recoverOptimisticLockingFailureExceptionOnTeamTaskCompletedEvent",
-            retryFor = OptimisticLockingFailureException.class,
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 200)
-    )
-    @TransactionalEventListener
+    /**
+     * Applies all completions of one project to a single loaded {@link Project}, so the project and its tasks are read
+     * and its version bumped once per group. A completion that the project rejects is reported in its outcome without
+     * affecting the others. If the project is not found, every completion of the group fails.
+     */
+    @Retryable(interceptor = "aggregateUpdateRetryInterceptor")
     @Transactional(propagation = REQUIRES_NEW)
-    public void on(TeamTaskCompletedEvent teamTaskCompletedEvent) {
-        log.atDebug().log(() -> "teamTaskCompletedEvent %s".formatted(teamTaskCompletedEvent));
-        Optional<Project> projectByTaskId = projects.findByTaskId(teamTaskCompletedEvent.getProjectTaskId().value());
-        projectByTaskId.ifPresentOrElse(project -> markProjectTaskCompleted(teamTaskCompletedEvent, project),
-                () -> log.warn("Project by task id not found {}", teamTaskCompletedEvent.getProjectTaskId()));
-    }
-
-    @Recover
-    public void recoverOptimisticLockingFailureExceptionOnTeamTaskCompletedEvent(OptimisticLockingFailureException ex, TeamTaskCompletedEvent event) {
-        log.error("failed to complete task after 5 retries for event: {}", event, ex);
+    public List<CompletionOutcome> on(ProjectTaskCompletions completions) {
+        log.atDebug().log(() -> "projectTaskCompletions %s".formatted(completions));
+        Optional<Project> project = projects.findById(completions.projectId().value());
+        if (project.isEmpty()) {
+            log.warn("Project not found {}", completions.projectId());
+            var notFound = new UnknownProjectIdException(completions.projectId());
+            return completions.events().stream()
+                    .map(event -> CompletionOutcome.failed(event, notFound))
+                    .toList();
+        }
+        return completions.events().stream()
+                .map(event -> markProjectTaskCompleted(event, project.get()))
+                .toList();
     }
 
-    @TransactionalEventListener
+    @Transactional(propagation = REQUIRES_NEW, readOnly = true)
     public void on(TaskAddedToProjectEvent taskAddedToProjectEvent) {
         log.atDebug().log(() -> "taskAddedToProjectEvent %s".formatted(taskAddedToProjectEvent));
         projects.findById(taskAddedToProjectEvent.getToProject().value())
@@ -103,8 +111,14 @@ public class DomainEventListeners {
                 taskId, project.getId());
     }
 
-    private void markProjectTaskCompleted(TeamTaskCompletedEvent teamTaskCompletedEvent, Project project) {
-        project.completeTask(teamTaskCompletedEvent.getProjectTaskId(), teamTaskCompletedEvent.getActualSpentTime());
+    private CompletionOutcome markProjectTaskCompleted(TeamTaskCompletedEvent teamTaskCompletedEvent, Project project) {
+        try {
+            project.completeTask(teamTaskCompletedEvent.getProjectTaskId(), teamTaskCompletedEvent.getActualSpentTime());
+            return CompletionOutcome.completed(teamTaskCompletedEvent);
+        } catch (UnknownProjectTaskIdException e) {
+            log.warn("Task {} not found in project {}", teamTaskCompletedEvent.getProjectTaskId(), project.getId());
+            return CompletionOutcome.failed(teamTaskCompletedEvent, e);
+        }
     }
 
 }
@@ -1,22 +1,32 @@
 package tn.demo.jpa.project.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tn.demo.jpa.common.IDService;
+import tn.demo.jpa.common.service.Committed;
+import tn.demo.jpa.common.service.ExpectedVersion;
 import tn.demo.jpa.project.controller.ContactPersonInput;
+import tn.demo.jpa.project.controller.TaskInput;
 import tn.demo.jpa.project.controller.TimeEstimation;
+import tn.demo.jpa.project.domain.NewProjectTask;
 import tn.demo.jpa.project.domain.Project;
 import tn.demo.jpa.project.domain.ProjectId;
 import tn.demo.jpa.project.domain.ProjectTaskId;
 import tn.demo.jpa.project.domain.UnknownProjectIdException;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
 import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
 import tn.demo.jpa.project.repository.ProjectRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
+@Timed(value = "commands", histogram = true)
 public class ProjectService {
+    static final int MAX_TASKS_PER_BATCH = 1000;
+
     private final ProjectRepository projects;
     private final IDService IDService;
     private final ApplicationEventPublisher applicationEventPublisher;
@@ -30,21 +40,55 @@ public class ProjectService {
     }
 
     @Transactional
-    public ProjectId createProject(String name, String description, LocalDate estimatedEndDate, TimeEstimation estimation, ContactPersonInput contactPerson) {
-        Project project = projectFactory.createNew(name, description, estimatedEndDate, estimation, contactPerson);
-        return new ProjectId(projects.add(project).getId());
+    public Committed<ProjectId> createProject(String name, String description, LocalDate estimatedEndDate, TimeEstimation estimation, ContactPersonInput contactPerson) {
+        Project project = projects.add(projectFactory.createNew(name, description, estimatedEndDate, estimation, contactPerson));
+        ProjectId projectId = new ProjectId(project.getId());
+        applicationEventPublisher.publishEvent(new ProjectCreatedEvent(projectId));
+        return Committed.of(projectId, project::getVersion);
     }
 
     @Transactional
-    public ProjectTaskId addTaskTo(ProjectId projectId, String taskName, String description, TimeEstimation estimation) {
+    public Committed<ProjectTaskId> addTaskTo(ProjectId projectId, ExpectedVersion expectedVersion, String taskName, String description, TimeEstimation estimation) {
         ProjectTaskId taskId = IDService.newProjectTaskId();
 
-        Project project = projects.findById(projectId.value())
-                .orElseThrow(() -> new UnknownProjectIdException(projectId));
+        Project project = findProject(projectId, expectedVersion);
 
         project.addTask(taskId, taskName, description, toDomain(estimation));
         applicationEventPublisher.publishEvent(new TaskAddedToProjectEvent(projectId, taskId));
-        return taskId;
+        return Committed.of(taskId, project::getVersion);
+    }
+
+    @Transactional
+    public Committed<List<ProjectTaskId>> addTasksTo(ProjectId projectId, ExpectedVersion expectedVersion, List<TaskInput> taskInputs) {
+        if (taskInputs.isEmpty() || taskInputs.size() > MAX_TASKS_PER_BATCH) {
+            throw new IllegalArgumentException("Batch must contain 1-%d tasks".formatted(MAX_TASKS_PER_BATCH));
+        }
+        Project project = findProject(projectId, expectedVersion);
+
+        List<NewProjectTask> newTasks = taskInputs.stream()
+                .map(input -> new NewProjectTask(IDService.newProjectTaskId(), input.name(), input.description(), toDomain(input.estimation())))
+                .toList();
+        project.addTasks(newTasks);
+        newTasks.forEach(task -> applicationEventPublisher.publishEvent(new TaskAddedToProjectEvent(projectId, task.taskId())));
+        List<ProjectTaskId> taskIds = newTasks.stream()
+                .map(NewProjectTask::taskId)
+                .toList();
+        return Committed.of(taskIds, project::getVersion);
+    }
+
+    /**
+     * With an expected version, the version column is compared first so that a stale command fails without loading
+     * the tasks. The loaded project is compared again to cover a change committed in between.
+     */
+    private Project findProject(ProjectId projectId, ExpectedVersion expectedVersion) {
+        if (!expectedVersion.isAny()) {
+            expectedVersion.verify(projects.findVersion(projectId.value())
+                    .orElseThrow(() -> new UnknownProjectIdException(projectId)));
+        }
+        Project project = projects.findById(projectId.value())
+                .orElseThrow(() -> new UnknownProjectIdException(projectId));
+        expectedVersion.verify(project.getVersion());
+        return project;
     }
 
     private tn.demo.jpa.project.domain.TimeEstimation toDomain(TimeEstimation estimation) {
@@ -0,0 +1,70 @@
+package tn.demo.jpa.project.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.domain.UnknownProjectTaskIdException;
+import tn.demo.jpa.project.repository.ProjectRepository;
+import tn.demo.jpa.project.repository.ProjectTaskOwner;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Groups team task completions by the project owning the task and applies each group in one transaction. Completions
+ * keep their relative order within a group. A completion of a task that no project owns fails, as it does when the
+ * loaded project does not have the task.
+ */
+@Component
+public class ProjectTaskCompletionCoalescer {
+    private final ProjectRepository projects;
+    private final DomainEventListeners listeners;
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectTaskCompletionCoalescer.class);
+
+    public ProjectTaskCompletionCoalescer(ProjectRepository projects, DomainEventListeners listeners) {
+        this.projects = projects;
+        this.listeners = listeners;
+    }
+
+    /**
+     * @return one outcome per given event. A group that fails as a whole, for example when retries on optimistic
+     * locking conflicts run out, reports the failure for each of its events.
+     */
+    public List<CompletionOutcome> completeAll(List<TeamTaskCompletedEvent> events) {
+        Map<UUID, UUID> projectByTask = projects.findOwnersOfTasks(events.stream().map(event -> event.getProjectTaskId().value()).toList())
+                .stream()
+                .collect(Collectors.toMap(ProjectTaskOwner::taskId, ProjectTaskOwner::projectId));
+        Map<UUID, List<TeamTaskCompletedEvent>> eventsByProject = new LinkedHashMap<>();
+        List<CompletionOutcome> outcomes = new ArrayList<>(events.size());
+        for (TeamTaskCompletedEvent event : events) {
+            UUID projectId = projectByTask.get(event.getProjectTaskId().value());
+            if (projectId == null) {
+                log.warn("Project by task id not found {}", event.getProjectTaskId());
+                outcomes.add(CompletionOutcome.failed(event, new UnknownProjectTaskIdException(event.getProjectTaskId())));
+                continue;
+            }
+            eventsByProject.computeIfAbsent(projectId, id -> new ArrayList<>()).add(event);
+        }
+        eventsByProject.forEach((projectId, group) ->
+                outcomes.addAll(complete(new ProjectTaskCompletions(new ProjectId(projectId), group))));
+        return outcomes;
+    }
+
+    private List<CompletionOutcome> complete(ProjectTaskCompletions completions) {
+        try {
+            return listeners.on(completions);
+        } catch (RuntimeException e) {
+            log.warn("Failed to complete {} tasks of project {}", completions.events().size(), completions.projectId(), e);
+            return completions.events().stream()
+                    .map(event -> CompletionOutcome.failed(event, e))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package tn.demo.jpa.project.service;
+
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.util.List;
+
+/**
+ * Team task completions that target tasks of the same project.
+ */
+public record ProjectTaskCompletions(ProjectId projectId, List<TeamTaskCompletedEvent> events) {}
@@ -0,0 +1,6 @@
+package tn.demo.jpa.project.view;
+
+import java.util.UUID;
+
+record MatchingTaskRow(UUID projectId, UUID taskId, String title, String description, String taskStatus) {
+}
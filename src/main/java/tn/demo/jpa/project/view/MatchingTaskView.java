@@ -0,0 +1,6 @@
+package tn.demo.jpa.project.view;
+
+import java.util.UUID;
+
+public record MatchingTaskView(UUID id, String title, String description, boolean completed) {
+}
@@ -0,0 +1,7 @@
+package tn.demo.jpa.project.view;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PortfolioRollupView(RollupTotals totals, List<StatusRollupView> statuses, LocalDateTime computedAt) {
+}
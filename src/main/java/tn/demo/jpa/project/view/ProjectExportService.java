@@ -0,0 +1,64 @@
+package tn.demo.jpa.project.view;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class ProjectExportService {
+    private static final byte NEWLINE = '\n';
+
+    private final ProjectViewRepository projectViewRepository;
+    private final ProjectViewService projectViewService;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProjectExportService(ProjectViewRepository projectViewRepository, ProjectViewService projectViewService,
+                                ObjectMapper objectMapper, @Value("${export.projects.fetch-size:500}") int fetchSize) {
+        this.projectViewRepository = projectViewRepository;
+        this.projectViewService = projectViewService;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes every project with its tasks as newline-delimited JSON, one project per line. Only the rows of a
+     * single project are held in memory at a time.
+     */
+    @Transactional(readOnly = true)
+    public void exportTo(OutputStream out) {
+        try (Stream<ProjectTaskRow> rows = projectViewRepository.streamProjectsWithTasks(fetchSize)) {
+            List<ProjectTaskRow> currentProject = new ArrayList<>();
+            Iterator<ProjectTaskRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ProjectTaskRow row = iterator.next();
+                if (!currentProject.isEmpty() && !currentProject.get(0).id().equals(row.id())) {
+                    write(currentProject, out);
+                    currentProject = new ArrayList<>();
+                }
+                currentProject.add(row);
+            }
+            write(currentProject, out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(List<ProjectTaskRow> projectRows, OutputStream out) throws IOException {
+        var view = projectViewService.toView(projectRows);
+        if (view.isPresent()) {
+            out.write(objectMapper.writeValueAsBytes(view.get()));
+            out.write(NEWLINE);
+        }
+    }
+}
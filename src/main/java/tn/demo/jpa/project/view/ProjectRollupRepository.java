@@ -0,0 +1,63 @@
+package tn.demo.jpa.project.view;
+
+import org.springframework.stereotype.Component;
+import tn.demo.jpa.common.service.EntityManagerUtils;
+import tn.demo.jpa.common.service.RowMapping;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+class ProjectRollupRepository {
+    /**
+     * Portfolio, status and optionally project totals in one pass over the tasks. {@code GROUPING()} tells the
+     * subtotal rows apart from groups whose status is actually null.
+     */
+    private static final String ROLLUP = """
+            SELECT GROUPING(p.status, p.id) AS level,
+            p.status,
+            p.id AS project_id,
+            p.name AS project_name,
+            COUNT(DISTINCT p.id) AS project_count,
+            COUNT(pt.id) AS task_count,
+            COUNT(pt.id) FILTER (WHERE pt.task_status = 'COMPLETE') AS completed_task_count,
+            COALESCE(SUM(pt.estimated_time_hours * 60 + pt.estimated_time_minutes), 0) AS estimated_minutes,
+            COALESCE(SUM(pt.estimated_time_hours * 60 + pt.estimated_time_minutes)
+                FILTER (WHERE pt.task_status = 'COMPLETE'), 0) AS completed_estimated_minutes,
+            COALESCE(SUM(pt.actual_time_spent_hours * 60 + pt.actual_time_spent_minutes), 0) AS actual_minutes
+            FROM project_demo_jpa.projects p
+            LEFT JOIN project_demo_jpa.project_tasks pt ON pt.project_id = p.id
+            GROUP BY ROLLUP (p.status, (p.id, p.name))
+            %s
+            ORDER BY p.status NULLS FIRST, level DESC, p.id
+            """;
+
+    private final EntityManagerUtils entityManagerUtils;
+
+    ProjectRollupRepository(EntityManagerUtils entityManagerUtils) {
+        this.entityManagerUtils = entityManagerUtils;
+    }
+
+    List<RollupRow> findRollup(boolean includeProjects) {
+        String sql = ROLLUP.formatted(includeProjects ? "" : "HAVING GROUPING(p.status, p.id) > 0");
+        return entityManagerUtils.findRows("projects_rollup", sql, Map.of(), rollupMapping());
+    }
+
+    private RowMapping<RollupRow> rollupMapping() {
+        return columns -> {
+            int level = columns.indexOf("level");
+            int status = columns.indexOf("status");
+            int projectId = columns.indexOf("project_id");
+            int projectName = columns.indexOf("project_name");
+            int projectCount = columns.indexOf("project_count");
+            int taskCount = columns.indexOf("task_count");
+            int completedTaskCount = columns.indexOf("completed_task_count");
+            int estimated = columns.indexOf("estimated_minutes");
+            int completedEstimated = columns.indexOf("completed_estimated_minutes");
+            int actual = columns.indexOf("actual_minutes");
+            return r -> new RollupRow(r.getInteger(level), r.getString(status), r.getUUID(projectId), r.getString(projectName),
+                    r.getLong(projectCount), r.getLong(taskCount), r.getLong(completedTaskCount), r.getLong(estimated),
+                    r.getLong(completedEstimated), r.getLong(actual));
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package tn.demo.jpa.project.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estimated versus actual time across the portfolio. The rollup scans every task, so it can be cached for a bounded
+ * time; {@link PortfolioRollupView#computedAt()} tells clients how old the figures are.
+ */
+@Service
+public class ProjectRollupService {
+    private final ProjectRollupRepository repository;
+    private final Cache<Boolean, PortfolioRollupView> cache;
+
+    public ProjectRollupService(ProjectRollupRepository repository, MeterRegistry meterRegistry,
+                                @Value("${views.cache.rollup.enabled:false}") boolean cacheEnabled,
+                                @Value("${views.cache.rollup.max-staleness:60s}") Duration maxStaleness) {
+        this.repository = repository;
+        this.cache = cacheEnabled
+                ? CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                        .expireAfterWrite(maxStaleness)
+                        .recordStats()
+                        .build(), "project-rollup")
+                : null;
+    }
+
+    @Transactional(readOnly = true)
+    public PortfolioRollupView rollup(boolean includeProjects) {
+        if (cache == null) {
+            return compute(includeProjects);
+        }
+        return cache.get(includeProjects, this::compute);
+    }
+
+    private PortfolioRollupView compute(boolean includeProjects) {
+        return toView(repository.findRollup(includeProjects), LocalDateTime.now());
+    }
+
+    /**
+     * Rows arrive ordered by status, each status subtotal before its projects, with the portfolio total first.
+     */
+    PortfolioRollupView toView(List<RollupRow> rows, LocalDateTime computedAt) {
+        RollupTotals portfolio = RollupTotals.EMPTY;
+        List<StatusRollupView> statuses = new ArrayList<>();
+        RollupRow status = null;
+        List<ProjectRollupView> projects = new ArrayList<>();
+        for (RollupRow row : rows) {
+            switch (row.level()) {
+                case RollupRow.PORTFOLIO -> portfolio = row.totals();
+                case RollupRow.STATUS -> {
+                    if (status != null) {
+                        statuses.add(new StatusRollupView(status.status(), status.totals(), List.copyOf(projects)));
+                    }
+                    status = row;
+                    projects.clear();
+                }
+                case RollupRow.PROJECT -> projects.add(new ProjectRollupView(row.projectId(), row.projectName(), row.totals()));
+                default -> throw new IllegalStateException("Unexpected rollup level " + row.level());
+            }
+        }
+        if (status != null) {
+            statuses.add(new StatusRollupView(status.status(), status.totals(), List.copyOf(projects)));
+        }
+        return new PortfolioRollupView(portfolio, statuses, computedAt);
+    }
+}
@@ -0,0 +1,6 @@
+package tn.demo.jpa.project.view;
+
+import java.util.UUID;
+
+public record ProjectRollupView(UUID id, String name, RollupTotals totals) {
+}
@@ -0,0 +1,105 @@
+package tn.demo.jpa.project.view;
+
+import org.springframework.stereotype.Component;
+import tn.demo.jpa.common.service.EntityManagerUtils;
+import tn.demo.jpa.common.service.RowMapping;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Full-text search over the generated {@code search_vector} columns of projects and tasks. Both sides are matched
+ * through their GIN indexes, and a project ranks by its own text or its best matching task, whichever is higher.
+ */
+@Component
+class ProjectSearchRepository {
+    private static final String TS_QUERY = "websearch_to_tsquery('simple', :query)";
+
+    private final EntityManagerUtils entityManagerUtils;
+
+    ProjectSearchRepository(EntityManagerUtils entityManagerUtils) {
+        this.entityManagerUtils = entityManagerUtils;
+    }
+
+    List<ProjectSearchRow> search(String query, SearchContinuationToken after, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                WITH matches AS (
+                    SELECT p.id AS project_id, ts_rank(p.search_vector, %1$s) AS rank
+                    FROM project_demo_jpa.projects p
+                    WHERE p.search_vector @@ %1$s
+                    UNION ALL
+                    SELECT pt.project_id, ts_rank(pt.search_vector, %1$s)
+                    FROM project_demo_jpa.project_tasks pt
+                    WHERE pt.search_vector @@ %1$s
+                ),
+                ranked AS (
+                    SELECT project_id, MAX(rank) AS rank
+                    FROM matches
+                    GROUP BY project_id
+                )
+                SELECT p.id,
+                p.name,
+                p.description,
+                p.status,
+                r.rank
+                FROM ranked r
+                JOIN project_demo_jpa.projects p ON p.id = r.project_id
+                """.formatted(TS_QUERY));
+        Map<String, Object> params = new HashMap<>();
+        params.put("query", query);
+        if (after != null) {
+            sql.append(" WHERE r.rank < :afterRank OR (r.rank = :afterRank AND r.project_id > :afterId)");
+            params.put("afterRank", after.rank());
+            params.put("afterId", after.lastId());
+        }
+        sql.append(" ORDER BY r.rank DESC, r.project_id LIMIT :limit");
+        params.put("limit", limit);
+        return entityManagerUtils.findRows("projects_search", sql.toString(), params, projectSearchMapping());
+    }
+
+    /**
+     * Matching tasks of the given projects, best match first within each project.
+     */
+    List<MatchingTaskRow> findMatchingTasks(String query, Collection<UUID> projectIds) {
+        String sql = """
+                SELECT pt.project_id,
+                pt.id AS task_id,
+                pt.title,
+                pt.description,
+                pt.task_status
+                FROM project_demo_jpa.project_tasks pt
+                WHERE pt.project_id IN (:projectIds)
+                AND pt.search_vector @@ %1$s
+                ORDER BY pt.project_id, ts_rank(pt.search_vector, %1$s) DESC, pt.id
+                """.formatted(TS_QUERY);
+        return entityManagerUtils.findRows("project_tasks_search", sql, Map.of("query", query, "projectIds", projectIds),
+                matchingTaskMapping());
+    }
+
+    private RowMapping<ProjectSearchRow> projectSearchMapping() {
+        return columns -> {
+            int id = columns.indexOf("id");
+            int name = columns.indexOf("name");
+            int description = columns.indexOf("description");
+            int status = columns.indexOf("status");
+            int rank = columns.indexOf("rank");
+            return r -> new ProjectSearchRow(r.getUUID(id), r.getString(name), r.getString(description), r.getString(status),
+                    r.getFloat(rank));
+        };
+    }
+
+    private RowMapping<MatchingTaskRow> matchingTaskMapping() {
+        return columns -> {
+            int projectId = columns.indexOf("project_id");
+            int taskId = columns.indexOf("task_id");
+            int title = columns.indexOf("title");
+            int description = columns.indexOf("description");
+            int status = columns.indexOf("task_status");
+            return r -> new MatchingTaskRow(r.getUUID(projectId), r.getUUID(taskId), r.getString(title), r.getString(description),
+                    r.getString(status));
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package tn.demo.jpa.project.view;
+
+import java.util.UUID;
+
+record ProjectSearchRow(UUID id, String name, String description, String status, float rank) {
+}
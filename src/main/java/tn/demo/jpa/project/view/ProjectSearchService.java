@@ -0,0 +1,55 @@
+package tn.demo.jpa.project.view;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.common.service.KeysetPage;
+import tn.demo.jpa.common.service.PageLimit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class ProjectSearchService {
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private final ProjectSearchRepository repository;
+
+    public ProjectSearchService(ProjectSearchRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Projects whose name or description, or any of whose tasks' title or description, match the query, best match
+     * first. The query follows web search syntax: quoted phrases, {@code or} and {@code -} for exclusion.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectSearchView> search(String query, boolean includeTasks, String continuationToken, PageLimit limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be 1-%d characters".formatted(MAX_QUERY_LENGTH));
+        }
+        SearchContinuationToken after = SearchContinuationToken.decode(continuationToken).orElse(null);
+        var rows = repository.search(query, after, limit.fetchSize());
+        boolean hasNext = rows.size() > limit.size();
+        List<ProjectSearchRow> pageRows = hasNext ? rows.subList(0, limit.size()) : rows;
+        Map<UUID, List<MatchingTaskView>> tasks = includeTasks && !pageRows.isEmpty()
+                ? matchingTasks(query, pageRows)
+                : Map.of();
+        List<ProjectSearchView> items = pageRows.stream()
+                .map(row -> new ProjectSearchView(row.id(), row.name(), row.description(), row.status(), row.rank(),
+                        tasks.getOrDefault(row.id(), List.of())))
+                .toList();
+        ProjectSearchRow last = hasNext ? pageRows.get(pageRows.size() - 1) : null;
+        String next = last != null ? new SearchContinuationToken(last.rank(), last.id()).encode() : null;
+        return new KeysetPage<>(items, next);
+    }
+
+    private Map<UUID, List<MatchingTaskView>> matchingTasks(String query, List<ProjectSearchRow> projects) {
+        var projectIds = projects.stream().map(ProjectSearchRow::id).toList();
+        return repository.findMatchingTasks(query, projectIds).stream()
+                .collect(Collectors.groupingBy(MatchingTaskRow::projectId,
+                        Collectors.mapping(row -> new MatchingTaskView(row.taskId(), row.title(), row.description(),
+                                row.taskStatus().equals("COMPLETE")), Collectors.toList())));
+    }
+}
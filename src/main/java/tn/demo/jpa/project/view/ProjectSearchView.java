@@ -0,0 +1,8 @@
+package tn.demo.jpa.project.view;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProjectSearchView(UUID id, String name, String description, String status, float rank,
+                                List<MatchingTaskView> matchingTasks) {
+}
@@ -0,0 +1,178 @@
+package tn.demo.jpa.project.view;
+
+import org.springframework.stereotype.Component;
+import tn.demo.jpa.common.service.EntityManagerUtils;
+import tn.demo.jpa.common.service.RowMapping;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+class ProjectSummaryRepository {
+    /**
+     * Recomputes the summaries of the selected projects from their current tasks. Running it again for the same state
+     * changes nothing, so redelivered events and rebuilds are harmless. A summary computed from an older project
+     * version than the stored one is not written.
+     */
+    private static final String RECOMPUTE = """
+            INSERT INTO project_demo_jpa.project_summaries (project_id, name, status, planned_end_date, task_count,
+                                                            completed_task_count, estimated_minutes, actual_minutes,
+                                                            project_version, updated_at)
+            SELECT p.id,
+                   p.name,
+                   p.status,
+                   p.planned_end_date,
+                   COUNT(pt.id),
+                   COUNT(pt.id) FILTER (WHERE pt.task_status = 'COMPLETE'),
+                   COALESCE(SUM(pt.estimated_time_hours * 60 + pt.estimated_time_minutes), 0),
+                   COALESCE(SUM(pt.actual_time_spent_hours * 60 + pt.actual_time_spent_minutes), 0),
+                   p.version,
+                   now()
+            FROM project_demo_jpa.projects p
+            LEFT JOIN project_demo_jpa.project_tasks pt ON pt.project_id = p.id
+            WHERE %s
+            GROUP BY p.id
+            ON CONFLICT (project_id) DO UPDATE SET
+                name = EXCLUDED.name,
+                status = EXCLUDED.status,
+                planned_end_date = EXCLUDED.planned_end_date,
+                task_count = EXCLUDED.task_count,
+                completed_task_count = EXCLUDED.completed_task_count,
+                estimated_minutes = EXCLUDED.estimated_minutes,
+                actual_minutes = EXCLUDED.actual_minutes,
+                project_version = EXCLUDED.project_version,
+                updated_at = EXCLUDED.updated_at
+            WHERE project_summaries.project_version <= EXCLUDED.project_version
+            """;
+
+    /**
+     * Marks the selected projects as needing a summary refresh. A project already marked keeps its place in line.
+     */
+    private static final String MARK = """
+            INSERT INTO project_demo_jpa.project_summary_refreshes (project_id, marked_at)
+            SELECT DISTINCT %s, now()
+            FROM %s
+            WHERE %s
+            ON CONFLICT (project_id) DO NOTHING
+            """;
+
+    /**
+     * Removes and returns the longest waiting marks. Marks claimed by a concurrent refresh are skipped, and the removal
+     * is undone if the claiming transaction rolls back.
+     */
+    private static final String CLAIM_MARKED = """
+            DELETE FROM project_demo_jpa.project_summary_refreshes
+            WHERE project_id IN (
+                SELECT r.project_id
+                FROM project_demo_jpa.project_summary_refreshes r
+                ORDER BY r.marked_at
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING project_id
+            """;
+
+    private final EntityManagerUtils entityManagerUtils;
+
+    ProjectSummaryRepository(EntityManagerUtils entityManagerUtils) {
+        this.entityManagerUtils = entityManagerUtils;
+    }
+
+    int recomputeProjects(Collection<UUID> projectIds) {
+        if (projectIds.isEmpty()) {
+            return 0;
+        }
+        return entityManagerUtils.execute("project_summaries_recompute", RECOMPUTE.formatted("p.id IN (:projectIds)"),
+                Map.of("projectIds", projectIds));
+    }
+
+    int recomputeProjectsOfTasks(Collection<UUID> projectTaskIds) {
+        if (projectTaskIds.isEmpty()) {
+            return 0;
+        }
+        return entityManagerUtils.execute("project_summaries_recompute_by_task",
+                RECOMPUTE.formatted("p.id IN (SELECT t.project_id FROM project_demo_jpa.project_tasks t WHERE t.id IN (:projectTaskIds))"),
+                Map.of("projectTaskIds", projectTaskIds));
+    }
+
+    int markProjects(Collection<UUID> projectIds) {
+        if (projectIds.isEmpty()) {
+            return 0;
+        }
+        return entityManagerUtils.execute("project_summaries_mark",
+                MARK.formatted("p.id", "project_demo_jpa.projects p", "p.id IN (:projectIds)"),
+                Map.of("projectIds", projectIds));
+    }
+
+    int markProjectsOfTasks(Collection<UUID> projectTaskIds) {
+        if (projectTaskIds.isEmpty()) {
+            return 0;
+        }
+        return entityManagerUtils.execute("project_summaries_mark_by_task",
+                MARK.formatted("t.project_id", "project_demo_jpa.project_tasks t", "t.id IN (:projectTaskIds)"),
+                Map.of("projectTaskIds", projectTaskIds));
+    }
+
+    List<UUID> claimMarked(int limit) {
+        return entityManagerUtils.findRows("project_summaries_claim_marked", CLAIM_MARKED, Map.of("limit", limit), columns -> {
+            int id = columns.indexOf("project_id");
+            return r -> r.getUUID(id);
+        });
+    }
+
+    List<UUID> findProjectIds(UUID after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT p.id FROM project_demo_jpa.projects p");
+        Map<String, Object> params = new HashMap<>();
+        if (after != null) {
+            sql.append(" WHERE p.id > :after");
+            params.put("after", after);
+        }
+        sql.append(" ORDER BY p.id LIMIT :limit");
+        params.put("limit", limit);
+        return entityManagerUtils.findRows("project_ids_page", sql.toString(), params, columns -> {
+            int id = columns.indexOf("id");
+            return r -> r.getUUID(id);
+        });
+    }
+
+    List<ProjectSummaryRow> findPage(UUID after, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT s.project_id,
+                s.name,
+                s.status,
+                s.planned_end_date,
+                s.task_count,
+                s.completed_task_count,
+                s.estimated_minutes,
+                s.actual_minutes
+                FROM project_demo_jpa.project_summaries s
+                """);
+        Map<String, Object> params = new HashMap<>();
+        if (after != null) {
+            sql.append(" WHERE s.project_id > :after");
+            params.put("after", after);
+        }
+        sql.append(" ORDER BY s.project_id LIMIT :limit");
+        params.put("limit", limit);
+        return entityManagerUtils.findRows("project_summaries_page", sql.toString(), params, summaryMapping());
+    }
+
+    private RowMapping<ProjectSummaryRow> summaryMapping() {
+        return columns -> {
+            int projectId = columns.indexOf("project_id");
+            int name = columns.indexOf("name");
+            int status = columns.indexOf("status");
+            int plannedEndDate = columns.indexOf("planned_end_date");
+            int taskCount = columns.indexOf("task_count");
+            int completedTaskCount = columns.indexOf("completed_task_count");
+            int estimatedMinutes = columns.indexOf("estimated_minutes");
+            int actualMinutes = columns.indexOf("actual_minutes");
+            return r -> new ProjectSummaryRow(r.getUUID(projectId), r.getString(name), r.getString(status),
+                    r.getLocalDate(plannedEndDate), r.getInteger(taskCount), r.getInteger(completedTaskCount),
+                    r.getInteger(estimatedMinutes), r.getInteger(actualMinutes));
+        };
+    }
+}
@@ -0,0 +1,8 @@
+package tn.demo.jpa.project.view;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+record ProjectSummaryRow(UUID projectId, String name, String status, LocalDate plannedEndDate, int taskCount,
+                         int completedTaskCount, int estimatedMinutes, int actualMinutes) {
+}
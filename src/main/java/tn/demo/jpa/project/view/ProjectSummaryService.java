@@ -0,0 +1,92 @@
+package tn.demo.jpa.project.view;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tn.demo.jpa.common.service.ContinuationToken;
+import tn.demo.jpa.common.service.KeysetPage;
+import tn.demo.jpa.common.service.PageLimit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * Maintains the {@code project_summaries} read model, which serves project listings with task counts and time totals
+ * without reading the tasks. The outbox marks the projects of delivered events in the transaction that settles the
+ * events, and the relay refreshes marked projects afterwards, so summaries lag the projects by the relay delay and a
+ * failed refresh is retried on the next poll.
+ */
+@Service
+public class ProjectSummaryService {
+    private final ProjectSummaryRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildBatchSize;
+
+    public ProjectSummaryService(ProjectSummaryRepository repository, TransactionTemplate transactionTemplate,
+                                 @Value("${views.project-summaries.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectSummaryView> findAll(String continuationToken, PageLimit limit) {
+        UUID after = ContinuationToken.decode(continuationToken)
+                .map(ContinuationToken::lastId)
+                .orElse(null);
+        var rows = repository.findPage(after, limit.fetchSize());
+        return KeysetPage.of(rows, limit, ProjectSummaryRow::projectId, row -> new ProjectSummaryView(row.projectId(),
+                row.name(), row.status(), row.plannedEndDate(), row.taskCount(), row.completedTaskCount(),
+                TimeEstimate.fromMinutes(row.estimatedMinutes()), new ActualTimeSpent(0, row.actualMinutes())));
+    }
+
+    /**
+     * Marks the given projects and the projects owning the given tasks for {@link #refreshMarked(int)}. Joins the
+     * caller's transaction, so the marks are stored exactly when the caller's changes are.
+     */
+    @Transactional
+    public void markForRefresh(Collection<UUID> projectIds, Collection<UUID> projectTaskIds) {
+        repository.markProjects(projectIds);
+        repository.markProjectsOfTasks(projectTaskIds);
+    }
+
+    /**
+     * Recomputes the summaries of up to {@code limit} marked projects and removes their marks, in a transaction of its
+     * own. If recomputing fails, the marks stay for the next call.
+     *
+     * @return number of refreshed projects
+     */
+    @Transactional(propagation = REQUIRES_NEW)
+    public int refreshMarked(int limit) {
+        List<UUID> projectIds = repository.claimMarked(limit);
+        repository.recomputeProjects(projectIds);
+        return projectIds.size();
+    }
+
+    /**
+     * Recomputes every summary, one batch of projects per transaction, e.g. after a backfill or if event delivery
+     * was interrupted.
+     *
+     * @return number of recomputed projects
+     */
+    public int rebuild() {
+        int rebuilt = 0;
+        UUID after = null;
+        List<UUID> batch;
+        do {
+            UUID from = after;
+            batch = transactionTemplate.execute(status -> {
+                List<UUID> ids = repository.findProjectIds(from, rebuildBatchSize);
+                repository.recomputeProjects(ids);
+                return ids;
+            });
+            rebuilt += batch.size();
+            after = batch.isEmpty() ? null : batch.get(batch.size() - 1);
+        } while (batch.size() == rebuildBatchSize);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,8 @@
+package tn.demo.jpa.project.view;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ProjectSummaryView(UUID id, String name, String status, LocalDate plannedEndDate, int taskCount,
+                                 int completedTaskCount, TimeEstimate estimated, ActualTimeSpent actualTimeSpent) {
+}
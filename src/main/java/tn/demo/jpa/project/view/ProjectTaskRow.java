@@ -8,6 +8,7 @@ record ProjectTaskRow(UUID id,
                       Integer projectEstimateHours,
                       Integer projectEstimateMinutes,
                       String projectStatus,
+                      Integer projectVersion,
 
                       UUID taskId,
                       String taskTitle,
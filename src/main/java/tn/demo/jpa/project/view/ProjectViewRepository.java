@@ -3,22 +3,19 @@ package tn.demo.jpa.project.view;
 import org.springframework.stereotype.Component;
 import tn.demo.jpa.common.service.EntityManagerUtils;
 import tn.demo.jpa.common.service.EntityRecord;
+import tn.demo.jpa.common.service.RowMapping;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Component
 class ProjectViewRepository {
-    private final EntityManagerUtils entityManagerUtils;
-
-    ProjectViewRepository(EntityManagerUtils entityManagerUtils) {
-        this.entityManagerUtils = entityManagerUtils;
-    }
-
-    List<ProjectTaskRow> findProjectWithTasks(UUID projectId) {
-        String sql = """
+    private static final String PROJECTS_WITH_TASKS = """
                     SELECT
                     p.id AS id,
                     p.name AS name,
@@ -26,6 +23,7 @@ class ProjectViewRepository {
                     p.initial_estimated_time_hours as project_estimate_hours,
                     p.initial_estimated_time_minutes as project_estimate_minutes,
                     p.status as project_status,
+                    p.version as project_version,
                     pt.id AS task_id,
                     pt.title AS task_title,
                     pt.description AS task_description,
@@ -36,45 +34,96 @@ class ProjectViewRepository {
                     pt.actual_time_spent_minutes as actual_minutes
                     FROM project_demo_jpa.projects p
                     LEFT JOIN project_demo_jpa.project_tasks pt ON p.id = pt.project_id
-                    WHERE p.id = :projectId
                 """;
-        return entityManagerUtils.find(sql, Map.of("projectId", projectId), singleProjectMapper());
+
+    private final EntityManagerUtils entityManagerUtils;
+
+    ProjectViewRepository(EntityManagerUtils entityManagerUtils) {
+        this.entityManagerUtils = entityManagerUtils;
     }
 
-    private Function<EntityRecord, ProjectTaskRow> singleProjectMapper() {
-        return r -> {
-            UUID id = r.getUUID("id");
-            String name = r.getString("name");
-            String desc = r.getString("description");
-            Integer projectEstHours = r.getInteger("project_estimate_hours");
-            Integer projectEstMinutes = r.getInteger("project_estimate_minutes");
-            String status = r.getString("project_status");
-            UUID taskId = r.getUUID("task_id");
-            String taskTitle = r.getString("task_title");
-            String taskDescription = r.getString("task_description");
-            String taskStatus = r.getString("task_status");
-            Integer taskEstHours = r.getInteger("task_estimate_hours");
-            Integer taskEstMinutes = r.getInteger("task_estimate_minutes");
-            Integer actualHours = r.getInteger("actual_hours");
-            Integer actualMinutes = r.getInteger("actual_minutes");
-            return new ProjectTaskRow(id, name, desc, projectEstHours,
-                    projectEstMinutes, status, taskId,
-                    taskTitle, taskDescription, taskStatus,
-                    taskEstHours, taskEstMinutes, actualHours, actualMinutes);
-        };
+    List<ProjectTaskRow> findProjectWithTasks(UUID projectId) {
+        String sql = PROJECTS_WITH_TASKS + " WHERE p.id = :projectId";
+        return entityManagerUtils.findRows("project_with_tasks", sql, Map.of("projectId", projectId), singleProjectMapping());
     }
 
-    List<ProjectsViewRow> findAll() {
+    Optional<Integer> findVersion(UUID projectId) {
         String sql = """
+                SELECT p.version
+                FROM project_demo_jpa.projects p
+                WHERE p.id = :projectId
+                """;
+        return entityManagerUtils.find("project_version", sql, Map.of("projectId", projectId), r -> r.getInteger("version"))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Rows of the same project are adjacent in the result, so callers can assemble one project at a time.
+     */
+    Stream<ProjectTaskRow> streamProjectsWithTasks(int fetchSize) {
+        String sql = PROJECTS_WITH_TASKS + " ORDER BY p.id";
+        return entityManagerUtils.streamRows("projects_with_tasks_export", sql, Map.of(), fetchSize, singleProjectMapping());
+    }
+
+    RowMapping<ProjectTaskRow> singleProjectMapping() {
+        return columns -> {
+            int id = columns.indexOf("id");
+            int name = columns.indexOf("name");
+            int desc = columns.indexOf("description");
+            int projectEstHours = columns.indexOf("project_estimate_hours");
+            int projectEstMinutes = columns.indexOf("project_estimate_minutes");
+            int status = columns.indexOf("project_status");
+            int version = columns.indexOf("project_version");
+            int taskId = columns.indexOf("task_id");
+            int taskTitle = columns.indexOf("task_title");
+            int taskDescription = columns.indexOf("task_description");
+            int taskStatus = columns.indexOf("task_status");
+            int taskEstHours = columns.indexOf("task_estimate_hours");
+            int taskEstMinutes = columns.indexOf("task_estimate_minutes");
+            int actualHours = columns.indexOf("actual_hours");
+            int actualMinutes = columns.indexOf("actual_minutes");
+            return r -> new ProjectTaskRow(r.getUUID(id), r.getString(name), r.getString(desc), r.getInteger(projectEstHours),
+                    r.getInteger(projectEstMinutes), r.getString(status), r.getInteger(version), r.getUUID(taskId),
+                    r.getString(taskTitle), r.getString(taskDescription), r.getString(taskStatus),
+                    r.getInteger(taskEstHours), r.getInteger(taskEstMinutes), r.getInteger(actualHours), r.getInteger(actualMinutes));
+        };
+    }
+
+    List<ProjectsViewRow> findPage(ProjectsFilter filter, UUID after, int limit) {
+        StringBuilder sql = new StringBuilder("""
                 SELECT p.id,
                 p.name,
-                p.description
+                p.description,
+                p.status,
+                p.planned_end_date
                 FROM project_demo_jpa.projects p
-                """;
-        return entityManagerUtils.find(sql, Map.of(), projectsMapper());
+                WHERE 1 = 1
+                """);
+        Map<String, Object> params = new HashMap<>();
+        if (filter.status() != null) {
+            sql.append(" AND p.status = :status");
+            params.put("status", filter.status().name());
+        }
+        if (filter.plannedEndFrom() != null) {
+            sql.append(" AND p.planned_end_date >= :plannedEndFrom");
+            params.put("plannedEndFrom", filter.plannedEndFrom());
+        }
+        if (filter.plannedEndTo() != null) {
+            sql.append(" AND p.planned_end_date <= :plannedEndTo");
+            params.put("plannedEndTo", filter.plannedEndTo());
+        }
+        if (after != null) {
+            sql.append(" AND p.id > :after");
+            params.put("after", after);
+        }
+        sql.append(" ORDER BY p.id LIMIT :limit");
+        params.put("limit", limit);
+        return entityManagerUtils.find("projects_page", sql.toString(), params, projectsMapper());
     }
 
     private Function<EntityRecord, ProjectsViewRow> projectsMapper() {
-        return r -> new ProjectsViewRow(r.getUUID("id"), r.getString("name"), r.getString("description"));
+        return r -> new ProjectsViewRow(r.getUUID("id"), r.getString("name"), r.getString("description"),
+                r.getString("status"), r.getLocalDate("planned_end_date"));
     }
 }
\ No newline at end of file
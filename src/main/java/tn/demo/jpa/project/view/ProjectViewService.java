@@ -1,6 +1,14 @@
 package tn.demo.jpa.project.view;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.common.service.ContinuationToken;
+import tn.demo.jpa.common.service.KeysetPage;
+import tn.demo.jpa.common.service.PageLimit;
+import tn.demo.jpa.common.service.Versioned;
+import tn.demo.jpa.common.service.VersionedViewCache;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,20 +17,46 @@ import java.util.UUID;
 @Service
 public class ProjectViewService {
     private final ProjectViewRepository projectViewRepository;
+    private final VersionedViewCache<ProjectView> cache;
 
-    public ProjectViewService(ProjectViewRepository projectViewRepository) {
+    public ProjectViewService(ProjectViewRepository projectViewRepository, MeterRegistry meterRegistry,
+                              @Value("${views.cache.project.enabled:true}") boolean cacheEnabled,
+                              @Value("${views.cache.project.maximum-size:10000}") long cacheMaximumSize) {
         this.projectViewRepository = projectViewRepository;
+        this.cache = new VersionedViewCache<>("project-view", cacheEnabled, cacheMaximumSize, meterRegistry);
     }
 
-    public List<ProjectsView> findAll(){
-        return projectViewRepository.findAll()
-                .stream()
-                .map(data -> new ProjectsView(data.id(), data.name(), data.description()))
-                .toList();
+    @Transactional(readOnly = true)
+    public KeysetPage<ProjectsView> findAll(ProjectsFilter filter, String continuationToken, PageLimit limit){
+        UUID after = ContinuationToken.decode(continuationToken)
+                .map(ContinuationToken::lastId)
+                .orElse(null);
+        var rows = projectViewRepository.findPage(filter, after, limit.fetchSize());
+        return KeysetPage.of(rows, limit, ProjectsViewRow::id,
+                data -> new ProjectsView(data.id(), data.name(), data.description(), data.status(), data.plannedEndDate()));
+    }
+
+    /**
+     * Current version of the project, without reading its tasks. Lets callers answer conditional requests before
+     * building the view.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> findVersion(UUID projectId) {
+        return projectViewRepository.findVersion(projectId);
     }
 
-    public Optional<ProjectView> findOne(UUID projectId) {
+    @Transactional(readOnly = true)
+    public Optional<Versioned<ProjectView>> findOne(UUID projectId) {
+        return cache.get(projectId, projectViewRepository::findVersion, this::load);
+    }
+
+    private Optional<Versioned<ProjectView>> load(UUID projectId) {
         var rows = projectViewRepository.findProjectWithTasks(projectId);
+        return toView(rows)
+                .map(view -> new Versioned<>(view, rows.get(0).projectVersion()));
+    }
+
+    Optional<ProjectView> toView(List<ProjectTaskRow> rows) {
         if(rows.isEmpty()){
             return Optional.empty();
         }
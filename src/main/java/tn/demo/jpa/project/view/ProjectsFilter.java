@@ -0,0 +1,13 @@
+package tn.demo.jpa.project.view;
+
+import tn.demo.jpa.project.domain.ProjectStatus;
+
+import java.time.LocalDate;
+
+public record ProjectsFilter(ProjectStatus status, LocalDate plannedEndFrom, LocalDate plannedEndTo) {
+    public ProjectsFilter {
+        if (plannedEndFrom != null && plannedEndTo != null && plannedEndFrom.isAfter(plannedEndTo)) {
+            throw new IllegalArgumentException("plannedEndFrom cannot be after plannedEndTo");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package tn.demo.jpa.project.view;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
-public record ProjectsView(UUID id, String name, String description) {
-}
\ No newline at end of file
+public record ProjectsView(UUID id, String name, String description, String status, LocalDate plannedEndDate) {
+}
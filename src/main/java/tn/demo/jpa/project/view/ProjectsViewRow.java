@@ -1,6 +1,7 @@
 package tn.demo.jpa.project.view;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
-record ProjectsViewRow(UUID id, String name, String description) {
-}
\ No newline at end of file
+record ProjectsViewRow(UUID id, String name, String description, String status, LocalDate plannedEndDate) {
+}
@@ -0,0 +1,19 @@
+package tn.demo.jpa.project.view;
+
+import java.util.UUID;
+
+/**
+ * One grouping set of the rollup. {@code level} is the SQL {@code GROUPING(status, project)} bit mask: 0 for a
+ * project, 1 for a status subtotal and 3 for the portfolio total.
+ */
+record RollupRow(int level, String status, UUID projectId, String projectName, long projectCount, long taskCount,
+                 long completedTaskCount, long estimatedMinutes, long completedEstimatedMinutes, long actualMinutes) {
+    static final int PROJECT = 0;
+    static final int STATUS = 1;
+    static final int PORTFOLIO = 3;
+
+    RollupTotals totals() {
+        return new RollupTotals(projectCount, taskCount, completedTaskCount, estimatedMinutes, completedEstimatedMinutes,
+                actualMinutes);
+    }
+}
@@ -0,0 +1,10 @@
+package tn.demo.jpa.project.view;
+
+/**
+ * Task time totals in minutes. {@code completedEstimatedMinutes} covers only completed tasks and is the figure to
+ * compare {@code actualMinutes} against.
+ */
+public record RollupTotals(long projectCount, long taskCount, long completedTaskCount, long estimatedMinutes,
+                           long completedEstimatedMinutes, long actualMinutes) {
+    static final RollupTotals EMPTY = new RollupTotals(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,45 @@
+package tn.demo.jpa.project.view;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Position in a ranked result: the rank and id of the last row returned. Ranks are kept as float bits so the next page
+ * continues exactly where the previous one ended.
+ */
+record SearchContinuationToken(float rank, UUID lastId) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    SearchContinuationToken {
+        Objects.requireNonNull(lastId, "SearchContinuationToken lastId cannot be null");
+    }
+
+    static Optional<SearchContinuationToken> decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        if (bytes.length != 20) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return Optional.of(new SearchContinuationToken(buffer.getFloat(), new UUID(buffer.getLong(), buffer.getLong())));
+    }
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        buffer.putFloat(rank);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+}
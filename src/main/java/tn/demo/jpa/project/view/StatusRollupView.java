@@ -0,0 +1,6 @@
+package tn.demo.jpa.project.view;
+
+import java.util.List;
+
+public record StatusRollupView(String status, RollupTotals totals, List<ProjectRollupView> projects) {
+}
@@ -0,0 +1,6 @@
+package tn.demo.jpa.team.controller;
+
+import java.util.UUID;
+
+public record ClaimedTask(UUID taskId) {
+}
@@ -1,8 +1,14 @@
 package tn.demo.jpa.team.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tn.demo.jpa.common.ConditionalResponses;
+import tn.demo.jpa.common.EntityTags;
+import tn.demo.jpa.common.service.Committed;
+import tn.demo.jpa.common.service.KeysetPage;
+import tn.demo.jpa.common.service.PageLimit;
 import tn.demo.jpa.project.domain.ProjectTaskId;
 import tn.demo.jpa.team.domain.TeamId;
 import tn.demo.jpa.team.domain.TeamMemberId;
@@ -13,7 +19,6 @@ import tn.demo.jpa.team.view.TeamViewService;
 import tn.demo.jpa.team.view.TeamsView;
 
 import java.net.URI;
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -30,80 +35,93 @@ public class TeamController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Void> create(@RequestBody TeamInput teamInput) {
-        UUID teamId = teamService.createNew(teamInput.name()).value();
-        return createdPath("/teams/" + teamId);
+        var teamId = teamService.createNew(teamInput.name());
+        return createdPath("/teams/" + teamId.value().value(), teamId.version());
     }
 
     @PostMapping("/{teamId}/members")
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Void> addMember(@PathVariable UUID teamId, @RequestBody MemberInput memberInput) {
-        UUID memberId = teamService.addMember(new TeamId(teamId), memberInput.name(), memberInput.profession()).value();
-        return createdPath("/teams/" + teamId + "/members/" + memberId);
+    public ResponseEntity<Void> addMember(@PathVariable UUID teamId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody MemberInput memberInput) {
+        var memberId = teamService.addMember(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), memberInput.name(), memberInput.profession());
+        return createdPath("/teams/" + teamId + "/members/" + memberId.value().value(), memberId.version());
     }
 
     @PostMapping("/{teamId}/tasks/by-project-id/{projectTaskId}")
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Void> addTask(@PathVariable UUID teamId, @PathVariable UUID projectTaskId) {
-        UUID taskId = teamService.addTask(new TeamId(teamId), new ProjectTaskId(projectTaskId)).value();
-        return createdPath("/teams/" + teamId + "/tasks/" + taskId);
+    public ResponseEntity<Void> addTask(@PathVariable UUID teamId, @PathVariable UUID projectTaskId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var taskId = teamService.addTask(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new ProjectTaskId(projectTaskId));
+        return createdPath("/teams/" + teamId + "/tasks/" + taskId.value().value(), taskId.version());
     }
 
     @PatchMapping("/{teamId}/tasks/{taskId}/assignee")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> assignTask(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestBody AssignTaskInput assignTaskInput) {
-        teamService.assignTask(new TeamId(teamId), new TeamTaskId(taskId), new TeamMemberId(assignTaskInput.assigneeId()));
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> assignTask(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @RequestBody AssignTaskInput assignTaskInput) {
+        return noContent(teamService.assignTask(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new TeamTaskId(taskId),
+                new TeamMemberId(assignTaskInput.assigneeId())));
+    }
+
+    @PostMapping("/{teamId}/tasks/claim-next")
+    public ResponseEntity<ClaimedTask> claimNextTask(@PathVariable UUID teamId, @RequestBody AssignTaskInput assignTaskInput) {
+        return teamService.claimNextTask(new TeamId(teamId), new TeamMemberId(assignTaskInput.assigneeId()))
+                .map(claimed -> ResponseEntity.ok()
+                        .location(URI.create("/teams/" + teamId + "/tasks/" + claimed.value().value()))
+                        .eTag(EntityTags.of(claimed.version()))
+                        .body(new ClaimedTask(claimed.value().value())))
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
     @PostMapping("/{teamId}/tasks/{taskId}/mark-in-progress")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> markTaskInProgress(@PathVariable UUID teamId, @PathVariable UUID taskId) {
-        teamService.markTaskInProgress(new TeamId(teamId), new TeamTaskId(taskId));
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> markTaskInProgress(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return noContent(teamService.markTaskInProgress(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new TeamTaskId(taskId)));
     }
 
     @PostMapping("/{teamId}/tasks/{taskId}/unassign")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> markTaskUnAssigned(@PathVariable UUID teamId, @PathVariable UUID taskId) {
-        teamService.unassignTask(new TeamId(teamId), new TeamTaskId(taskId));
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> markTaskUnAssigned(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return noContent(teamService.unassignTask(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new TeamTaskId(taskId)));
     }
 
     @PostMapping("/{teamId}/tasks/{taskId}/complete")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> markTaskCompleted(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestBody ActualSpentTime actualSpentTime) {
-        teamService.completeTask(new TeamId(teamId), new TeamTaskId(taskId), actualSpentTime);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> markTaskCompleted(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                  @RequestBody ActualSpentTime actualSpentTime) {
+        return noContent(teamService.completeTask(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new TeamTaskId(taskId), actualSpentTime));
     }
 
     @DeleteMapping("/{teamId}/tasks/{taskId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> removeTask(@PathVariable UUID teamId, @PathVariable UUID taskId) {
-        teamService.removeTask(new TeamId(teamId), new TeamTaskId(taskId));
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> removeTask(@PathVariable UUID teamId, @PathVariable UUID taskId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return noContent(teamService.removeTask(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new TeamTaskId(taskId)));
     }
 
     @DeleteMapping("/{teamId}/members/{memberId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public ResponseEntity<Void> removeMember(@PathVariable UUID teamId, @PathVariable UUID memberId) {
-        teamService.removeMember(new TeamId(teamId), new TeamMemberId(memberId));
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> removeMember(@PathVariable UUID teamId, @PathVariable UUID memberId, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return noContent(teamService.removeMember(new TeamId(teamId), EntityTags.expectedVersion(ifMatch), new TeamMemberId(memberId)));
     }
 
     @GetMapping
-    public ResponseEntity<List<TeamsView>> findAll() {
-        return ResponseEntity.ok(teamViewService.findAll());
+    public ResponseEntity<KeysetPage<TeamsView>> findAll(@RequestParam(required = false) String continuationToken,
+                                                         @RequestParam(defaultValue = "" + PageLimit.DEFAULT_SIZE) int size) {
+        return ResponseEntity.ok(teamViewService.findAll(continuationToken, new PageLimit(size)));
     }
 
     @GetMapping("/{teamId}")
-    public ResponseEntity<TeamView> findById(@PathVariable UUID teamId) {
-        return teamViewService.findById(teamId)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<TeamView> findById(@PathVariable UUID teamId,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalResponses.view(ifNoneMatch, () -> teamViewService.findVersion(teamId),
+                () -> teamViewService.findById(teamId));
+    }
+
+    private ResponseEntity<Void> createdPath(String path, int version) {
+        return ResponseEntity.created(URI.create(path)).eTag(EntityTags.of(version)).build();
     }
 
-    private ResponseEntity<Void> createdPath(String path) {
-        return ResponseEntity.created(URI.create(path)).build();
+    private ResponseEntity<Void> noContent(Committed<Void> result) {
+        return ResponseEntity.noContent().eTag(EntityTags.of(result.version())).build();
     }
 
 }
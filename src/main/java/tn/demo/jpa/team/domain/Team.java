@@ -17,10 +17,12 @@ public class Team {
     @Version
     private int version;
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<TeamMember> members;
+    @MapKey(name = "id")
+    private Map<UUID, TeamMember> members;
 
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Set<TeamTask> tasks;
+    @MapKey(name = "id")
+    private Map<UUID, TeamTask> tasks;
 
     protected Team() {
         //for jpa
@@ -30,130 +32,106 @@ public class Team {
         this.id = id;
         this.name = name;
         this.version = 0;
-        this.members = new HashSet<>();
-        this.tasks = new HashSet<>();
+        this.members = new HashMap<>();
+        this.tasks = new HashMap<>();
     }
 
     public static Team createNew(TeamId id, String name) {
         return new Team(id.value(), name);
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public void addMember(TeamMemberId memberId, String name, String profession) {
-        members.add(TeamMember.createNew(memberId, name, profession, this));
+        members.put(memberId.value(), TeamMember.createNew(memberId, name, profession, this));
     }
 
     public boolean containsMember(TeamMemberId memberId, String name, String profession) {
-        return members.stream().anyMatch(member -> member.hasDetails(memberId, name, profession));
+        return findMember(memberId)
+                .filter(member -> member.hasDetails(memberId, name, profession))
+                .isPresent();
     }
 
     public boolean containsCompletedTask(TeamTaskId taskId, ProjectTaskId projectTaskId, String name, String description, ActualSpentTime actualSpentTime) {
-        return tasks.stream()
-                .anyMatch(task -> task.hasDetails(taskId, projectTaskId, name, description, null, actualSpentTime, TeamTaskStatus.COMPLETED));
+        return findTask(taskId)
+                .filter(task -> task.hasDetails(taskId, projectTaskId, name, description, null, actualSpentTime, TeamTaskStatus.COMPLETED))
+                .isPresent();
     }
 
     public boolean containsUncompletedTask(TeamTaskId taskId, ProjectTaskId projectTaskId, String name, String description, TeamMemberId assignee, TeamTaskStatus expectedStatus) {
-        return tasks.stream()
-                .anyMatch(task -> task.hasDetails(taskId, projectTaskId, name, description, assignee, null, expectedStatus));
+        return findTask(taskId)
+                .filter(task -> task.hasDetails(taskId, projectTaskId, name, description, assignee, null, expectedStatus))
+                .isPresent();
     }
 
     public void addTask(TeamTaskId taskId, ProjectTaskId projectTaskId, String name, String description) {
-        tasks.add(TeamTask.createNew(taskId, projectTaskId, name, description, this));
+        tasks.put(taskId.value(), TeamTask.createNew(taskId, projectTaskId, name, description, this));
     }
 
     public void removeTask(TeamTaskId taskId) {
-        verifyContainsTask(taskId);
-        verifyTaskCanBeRemoved(taskId);
-        TeamTask foundTask = tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .findAny().orElseThrow();
-        removeTask(foundTask);
-    }
-
-    private void removeTask(TeamTask task) {
-        this.tasks.remove(task);
-        task.markTeamRemoved();
+        TeamTask foundTask = getExistingTask(taskId);
+        if (!foundTask.canBeDeleted()) {
+            throw new TaskCannotBeDeletedException(taskId);
+        }
+        tasks.remove(taskId.value());
+        foundTask.markTeamRemoved();
     }
 
     public void removeMember(TeamMemberId memberId) {
         Objects.requireNonNull(memberId);
-        verifyContainsMember(memberId);
+        TeamMember foundMember = getExistingMember(memberId);
         verifyMemberCanBeRemoved(memberId);
-        TeamMember foundMember = members.stream()
-                .filter(member -> member.hasId(memberId))
-                .findFirst().orElseThrow();
-        removeMember(foundMember);
-    }
-
-    private void removeMember(TeamMember member) {
-        this.members.remove(member);
-        member.markTeamRemoved();
+        members.remove(memberId.value());
+        foundMember.markTeamRemoved();
     }
 
     private void verifyMemberCanBeRemoved(TeamMemberId memberId) {
-        if (tasks.stream().anyMatch(task -> task.isAssignedTo(memberId))) {
+        if (tasks.values().stream().anyMatch(task -> task.isAssignedTo(memberId))) {
             throw new TeamMemberHasAssignedTasksException(memberId);
         }
     }
 
-    private void verifyContainsMember(TeamMemberId memberId) {
-        if (members.stream().noneMatch(member -> member.hasId(memberId))) {
-            throw new UnknownTeamMemberIdException(memberId);
-        }
+    public Optional<ProjectTaskId> getOriginalTaskId(TeamTaskId taskId) {
+        return findTask(taskId)
+                .map(TeamTask::getOriginalTaskId);
     }
 
-    private void verifyTaskCanBeRemoved(TeamTaskId taskId) {
-        var canBeDeleted = tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .map(TeamTask::canBeDeleted)
-                .findFirst()
-                .orElse(true);
-        if (!canBeDeleted) {
-            throw new TaskCannotBeDeletedException(taskId);
-        }
+    private Optional<TeamTask> findTask(TeamTaskId taskId) {
+        return Optional.ofNullable(tasks.get(taskId.value()));
     }
 
-    public Optional<ProjectTaskId> getOriginalTaskId(TeamTaskId taskId) {
-        return tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .map(TeamTask::getOriginalTaskId)
-                .findFirst();
+    private Optional<TeamMember> findMember(TeamMemberId memberId) {
+        return Optional.ofNullable(members.get(memberId.value()));
     }
 
-    private void verifyContainsTask(TeamTaskId taskId) {
-        if (tasks.stream().noneMatch(task -> task.hasId(taskId))) {
-            throw new UnknownTeamTaskIdException(taskId);
-        }
+    private TeamTask getExistingTask(TeamTaskId taskId) {
+        return findTask(taskId)
+                .orElseThrow(() -> new UnknownTeamTaskIdException(taskId));
+    }
+
+    private TeamMember getExistingMember(TeamMemberId memberId) {
+        return findMember(memberId)
+                .orElseThrow(() -> new UnknownTeamMemberIdException(memberId));
     }
 
     public void assignTask(TeamTaskId taskId, TeamMemberId memberId) {
-        verifyContainsTask(taskId);
-        if (members.stream().noneMatch(member -> member.hasId(memberId))) {
-            throw new UnknownTeamMemberIdException(memberId);
-        }
-        tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .forEach(task -> task.assignTo(memberId));
+        TeamTask task = getExistingTask(taskId);
+        getExistingMember(memberId);
+        task.assignTo(memberId);
     }
 
     public void markTaskInProgress(TeamTaskId taskId) {
-        verifyContainsTask(taskId);
-        tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .forEach(TeamTask::markInProgress);
+        getExistingTask(taskId).markInProgress();
     }
 
     public void markTaskCompleted(TeamTaskId taskId, ActualSpentTime actualSpentTime) {
-        verifyContainsTask(taskId);
-        tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .forEach(task -> task.complete(actualSpentTime));
+        getExistingTask(taskId).complete(actualSpentTime);
     }
 
     public void markTaskUnassigned(TeamTaskId taskId) {
-        verifyContainsTask(taskId);
-        tasks.stream()
-                .filter(task -> task.hasId(taskId))
-                .forEach(TeamTask::unassign);
+        getExistingTask(taskId).unassign();
     }
 
     @Override
@@ -51,6 +51,7 @@ class TeamTask implements RootAware<Team> {
         return status == TeamTaskStatus.NOT_ASSIGNED;
     }
 
+    // TeamRepository.claimNextUnassignedTask applies the same NOT_ASSIGNED -> ASSIGNED transition in SQL
     void assignTo(TeamMemberId assigneeId) {
         if (this.status != TeamTaskStatus.NOT_ASSIGNED) {
             throw new TaskTransitionNotAllowedException("Task already assigned or in progress.");
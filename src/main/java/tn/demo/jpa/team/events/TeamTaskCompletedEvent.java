@@ -17,6 +17,10 @@ public class TeamTaskCompletedEvent extends ApplicationEvent {
         this.projectTaskId = projectTaskId;
         this.actualSpentTime = actualSpentTime;
     }
+    public TeamTaskId getTaskId() {
+        return taskID;
+    }
+
     public ProjectTaskId getProjectTaskId() {
         return projectTaskId;
     }
@@ -30,6 +30,53 @@ public interface TeamRepository extends CrudRepository<Team, UUID> {
             """)
     Optional<Team> findByTaskId(@Param("taskId") UUID taskId);
 
+    @Query("SELECT t.version FROM Team t WHERE t.id = :teamId")
+    Optional<Integer> findVersion(@Param("teamId") UUID teamId);
+
+    /**
+     * Locks the member against deletion, but not against other claims, for the rest of the transaction.
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT m.id
+            FROM project_demo_jpa.team_members m
+            WHERE m.id = :memberId AND m.team_id = :teamId
+            FOR KEY SHARE
+            """)
+    Optional<UUID> lockMember(@Param("teamId") UUID teamId, @Param("memberId") UUID memberId);
+
+    /**
+     * Assigns the first unassigned task of the team that no concurrent claim holds. Locked rows are skipped instead of
+     * waited for, so claimers pick different tasks without waiting; they still queue on the team row in
+     * {@link #incrementVersion}. The status change repeats the rule of {@code TeamTask.assignTo} and must be kept in
+     * step with it.
+     */
+    @Query(nativeQuery = true, value = """
+            UPDATE project_demo_jpa.team_tasks tt
+            SET status = 'ASSIGNED', assignee_id = :memberId
+            WHERE tt.id = (
+                SELECT c.id
+                FROM project_demo_jpa.team_tasks c
+                WHERE c.team_id = :teamId AND c.status = 'NOT_ASSIGNED'
+                ORDER BY c.id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING tt.id
+            """)
+    Optional<UUID> claimNextUnassignedTask(@Param("teamId") UUID teamId, @Param("memberId") UUID memberId);
+
+    /**
+     * Increments the version as the change tracking listeners would for a child change, so that cached views and
+     * concurrent optimistic writers see the claim.
+     */
+    @Query(nativeQuery = true, value = """
+            UPDATE project_demo_jpa.teams
+            SET version = version + 1
+            WHERE id = :teamId
+            RETURNING version
+            """)
+    int incrementVersion(@Param("teamId") UUID teamId);
+
     default Team add(Team team) {
         return save(team);
     }
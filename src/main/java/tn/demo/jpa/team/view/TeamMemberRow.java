@@ -0,0 +1,5 @@
+package tn.demo.jpa.team.view;
+
+import java.util.UUID;
+
+record TeamMemberRow(UUID memberId, String memberName, String memberProfession) {}
@@ -0,0 +1,5 @@
+package tn.demo.jpa.team.view;
+
+import java.util.UUID;
+
+record TeamRow(UUID teamId, String teamName, Integer teamVersion) {}
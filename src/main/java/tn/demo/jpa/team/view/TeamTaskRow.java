@@ -2,14 +2,7 @@ package tn.demo.jpa.team.view;
 
 import java.util.UUID;
 
-record TeamViewRow(
-        UUID teamId,
-        String teamName,
-
-        UUID memberId,
-        String memberName,
-        String memberProfession,
-
+record TeamTaskRow(
         UUID taskId,
         String taskName,
         String taskDescription,
@@ -18,4 +11,4 @@ record TeamViewRow(
         UUID taskAssigneeId,
         Integer actualTimeSpentHours,
         Integer actualTimeSpentMinutes
-) {}
\ No newline at end of file
+) {}
@@ -3,9 +3,12 @@ package tn.demo.jpa.team.view;
 import org.springframework.stereotype.Component;
 import tn.demo.jpa.common.service.EntityManagerUtils;
 import tn.demo.jpa.common.service.EntityRecord;
+import tn.demo.jpa.common.service.RowMapping;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -16,60 +19,105 @@ class TeamViewRepository {
         this.entityManagerUtils = entityManagerUtils;
     }
 
-    List<TeamViewRow> findTeamViewByTeamId(UUID teamId) {
-        String sql =     """
-        SELECT
-            t.id AS team_id,
-            t.name AS team_name,
-            m.id AS member_id,
-            m.name AS member_name,
-            m.profession AS member_profession,
-            tt.id AS task_id,
-            tt.name AS task_name,
-            tt.description AS task_description,
-            tt.project_task_id AS project_task_id,
-            tt.status AS task_status,
-            tt.assignee_id AS task_assignee_id,
-            tt.actual_time_spent_hours AS actual_time_spent_hours,
-            tt.actual_time_spent_minutes AS actual_time_spent_minutes
-        FROM project_demo_jpa.teams t
-        LEFT JOIN project_demo_jpa.team_members m ON t.id = m.team_id
-        LEFT JOIN project_demo_jpa.team_tasks tt ON t.id = tt.team_id
-        WHERE t.id = :teamId
-    """;
-        return entityManagerUtils.find(sql, Map.of("teamId", teamId), teamViewRowMapper());
+    Optional<TeamRow> findTeam(UUID teamId) {
+        String sql = """
+            SELECT
+                t.id AS team_id,
+                t.name AS team_name,
+                t.version AS team_version
+            FROM project_demo_jpa.teams t
+            WHERE t.id = :teamId
+            """;
+        return entityManagerUtils.find("team", sql, Map.of("teamId", teamId), teamRowMapper())
+                .stream()
+                .findFirst();
+    }
+
+    List<TeamMemberRow> findMembers(UUID teamId) {
+        String sql = """
+            SELECT
+                m.id AS member_id,
+                m.name AS member_name,
+                m.profession AS member_profession
+            FROM project_demo_jpa.team_members m
+            WHERE m.team_id = :teamId
+            ORDER BY m.id
+            """;
+        return entityManagerUtils.findRows("team_members", sql, Map.of("teamId", teamId), teamMemberRowMapping());
+    }
+
+    List<TeamTaskRow> findTasks(UUID teamId) {
+        String sql = """
+            SELECT
+                tt.id AS task_id,
+                tt.name AS task_name,
+                tt.description AS task_description,
+                tt.project_task_id AS project_task_id,
+                tt.status AS task_status,
+                tt.assignee_id AS task_assignee_id,
+                tt.actual_time_spent_hours AS actual_time_spent_hours,
+                tt.actual_time_spent_minutes AS actual_time_spent_minutes
+            FROM project_demo_jpa.team_tasks tt
+            WHERE tt.team_id = :teamId
+            ORDER BY tt.id
+            """;
+        return entityManagerUtils.findRows("team_tasks", sql, Map.of("teamId", teamId), teamTaskRowMapping());
+    }
+
+    private Function<EntityRecord, TeamRow> teamRowMapper() {
+        return r -> new TeamRow(r.getUUID("team_id"), r.getString("team_name"), r.getInteger("team_version"));
+    }
+
+    RowMapping<TeamMemberRow> teamMemberRowMapping() {
+        return columns -> {
+            int memberId = columns.indexOf("member_id");
+            int name = columns.indexOf("member_name");
+            int profession = columns.indexOf("member_profession");
+            return r -> new TeamMemberRow(r.getUUID(memberId), r.getString(name), r.getString(profession));
+        };
     }
 
-    private Function<EntityRecord, TeamViewRow> teamViewRowMapper() {
-        return r -> {
-            UUID id = r.getUUID("team_id");
-            String name = r.getString("team_name");
-            UUID memberId = r.getUUID("member_id");
-            String memberName = r.getString("member_name");
-            String profession = r.getString("member_profession");
-            UUID taskId = r.getUUID("task_id");
-            String taskName = r.getString("task_name");
-            String description = r.getString("task_description");
-            UUID projectTaskId = r.getUUID("project_task_id");
-            String status = r.getString("task_status");
-            UUID assignee = r.getUUID("task_assignee_id");
-            Integer spentHours = r.getInteger("actual_time_spent_hours");
-            Integer spentMinutes = r.getInteger("actual_time_spent_minutes");
-            return new TeamViewRow(id, name, memberId,
-                    memberName, profession, taskId,
-                    taskName, description, projectTaskId,
-                    status, assignee, spentHours, spentMinutes);
+    RowMapping<TeamTaskRow> teamTaskRowMapping() {
+        return columns -> {
+            int taskId = columns.indexOf("task_id");
+            int taskName = columns.indexOf("task_name");
+            int description = columns.indexOf("task_description");
+            int projectTaskId = columns.indexOf("project_task_id");
+            int status = columns.indexOf("task_status");
+            int assignee = columns.indexOf("task_assignee_id");
+            int spentHours = columns.indexOf("actual_time_spent_hours");
+            int spentMinutes = columns.indexOf("actual_time_spent_minutes");
+            return r -> new TeamTaskRow(r.getUUID(taskId), r.getString(taskName), r.getString(description), r.getUUID(projectTaskId),
+                    r.getString(status), r.getUUID(assignee), r.getInteger(spentHours), r.getInteger(spentMinutes));
         };
     }
 
-    List<TeamsViewRow> findTeams(){
-        String sql =     """
+    Optional<Integer> findVersion(UUID teamId) {
+        String sql = """
+            SELECT t.version
+            FROM project_demo_jpa.teams t
+            WHERE t.id = :teamId
+            """;
+        return entityManagerUtils.find("team_version", sql, Map.of("teamId", teamId), r -> r.getInteger("version"))
+                .stream()
+                .findFirst();
+    }
+
+    List<TeamsViewRow> findTeams(UUID after, int limit){
+        StringBuilder sql = new StringBuilder("""
             SELECT
             t.id AS team_id,
             t.name AS team_name
         FROM project_demo_jpa.teams t
-    """;
-        return entityManagerUtils.find(sql, Map.of(), teamsViewRowMapper());
+    """);
+        Map<String, Object> params = new HashMap<>();
+        if (after != null) {
+            sql.append(" WHERE t.id > :after");
+            params.put("after", after);
+        }
+        sql.append(" ORDER BY t.id LIMIT :limit");
+        params.put("limit", limit);
+        return entityManagerUtils.find("teams_page", sql.toString(), params, teamsViewRowMapper());
     }
 
     private Function<EntityRecord, TeamsViewRow> teamsViewRowMapper() {
@@ -1,57 +1,76 @@
 package tn.demo.jpa.team.view;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import tn.demo.jpa.common.service.ContinuationToken;
+import tn.demo.jpa.common.service.KeysetPage;
+import tn.demo.jpa.common.service.PageLimit;
+import tn.demo.jpa.common.service.Versioned;
+import tn.demo.jpa.common.service.VersionedViewCache;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class TeamViewService {
     private final TeamViewRepository repository;
+    private final VersionedViewCache<TeamView> cache;
 
-    public TeamViewService(TeamViewRepository repository) {
+    public TeamViewService(TeamViewRepository repository, MeterRegistry meterRegistry,
+                           @Value("${views.cache.team.enabled:true}") boolean cacheEnabled,
+                           @Value("${views.cache.team.maximum-size:10000}") long cacheMaximumSize) {
         this.repository = repository;
+        this.cache = new VersionedViewCache<>("team-view", cacheEnabled, cacheMaximumSize, meterRegistry);
     }
 
-    public List<TeamsView> findAll() {
-        return repository.findTeams().stream()
-                .map(data -> new TeamsView(data.teamId(), data.teamName()))
-                .toList();
+    @Transactional(readOnly = true)
+    public KeysetPage<TeamsView> findAll(String continuationToken, PageLimit limit) {
+        UUID after = ContinuationToken.decode(continuationToken)
+                .map(ContinuationToken::lastId)
+                .orElse(null);
+        var rows = repository.findTeams(after, limit.fetchSize());
+        return KeysetPage.of(rows, limit, TeamsViewRow::teamId, data -> new TeamsView(data.teamId(), data.teamName()));
     }
 
-    public Optional<TeamView> findById(UUID teamId) {
-        var rows = repository.findTeamViewByTeamId(teamId);
-        if (rows.isEmpty()) {
-            return Optional.empty();
-        }
-        TeamViewRow first = rows.get(0);
-        List<MemberView> members = getMembers(rows);
-        List<TaskView> tasks = getTasks(rows);
-        return Optional.of(new TeamView(
-                first.teamId(),
-                first.teamName(),
-                members,
-                tasks
-        ));
+    /**
+     * Team, members and tasks are read with separate queries, so the row count grows with members plus tasks instead
+     * of their product. Repeatable read keeps the three queries and the version lookup on the same snapshot.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Optional<Versioned<TeamView>> findById(UUID teamId) {
+        return cache.get(teamId, repository::findVersion, this::load);
+    }
+
+    /**
+     * Current version of the team, without reading its members or tasks. Lets callers answer conditional requests
+     * before building the view.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> findVersion(UUID teamId) {
+        return repository.findVersion(teamId);
     }
 
-    private List<TaskView> getTasks(List<TeamViewRow> rows) {
-        return rows.stream()
-                .filter(row -> row.taskId() != null)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toMap(
-                                TeamViewRow::taskId,
-                                this::getTaskView,
-                                (a, b) -> a
-                        ),
-                        map -> new ArrayList<>(map.values())
-                ));
+    private Optional<Versioned<TeamView>> load(UUID teamId) {
+        return repository.findTeam(teamId)
+                .map(team -> new Versioned<>(new TeamView(
+                        team.teamId(),
+                        team.teamName(),
+                        getMembers(teamId),
+                        getTasks(teamId)
+                ), team.teamVersion()));
     }
 
-    private TaskView getTaskView(TeamViewRow row) {
+    private List<TaskView> getTasks(UUID teamId) {
+        return repository.findTasks(teamId).stream()
+                .map(this::getTaskView)
+                .toList();
+    }
+
+    private TaskView getTaskView(TeamTaskRow row) {
         return new TaskView(
                 row.taskId(),
                 row.taskName(),
@@ -63,25 +82,10 @@ public class TeamViewService {
         );
     }
 
-    private List<MemberView> getMembers(List<TeamViewRow> rows) {
-        return rows.stream()
-                .filter(row -> row.memberId() != null)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toMap(
-                                TeamViewRow::memberId,
-                                this::getMemberView,
-                                (a, b) -> a // ignore duplicates
-                        ),
-                        map -> new ArrayList<>(map.values())
-                ));
-    }
-
-    private MemberView getMemberView(TeamViewRow row) {
-        return new MemberView(
-                row.memberId(),
-                row.memberName(),
-                row.memberProfession()
-        );
+    private List<MemberView> getMembers(UUID teamId) {
+        return repository.findMembers(teamId).stream()
+                .map(row -> new MemberView(row.memberId(), row.memberName(), row.memberProfession()))
+                .toList();
     }
 
     private ActualTimeSpent actualTimeSpent(Integer actualTimeSpentHours, Integer actualTimeSpentMinutes) {
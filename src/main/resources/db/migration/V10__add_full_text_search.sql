@@ -0,0 +1,18 @@
+-- 'simple' configuration: no stemming or stop words, so Finnish and English text are matched alike.
+ALTER TABLE project_demo_jpa.projects
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+ALTER TABLE project_demo_jpa.project_tasks
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_projects_search_vector
+    ON project_demo_jpa.projects USING GIN (search_vector);
+
+CREATE INDEX idx_project_tasks_search_vector
+    ON project_demo_jpa.project_tasks USING GIN (search_vector);
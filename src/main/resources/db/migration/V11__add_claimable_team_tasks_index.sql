@@ -0,0 +1,3 @@
+CREATE INDEX idx_team_tasks_claimable
+    ON project_demo_jpa.team_tasks (team_id, id)
+    WHERE status = 'NOT_ASSIGNED';
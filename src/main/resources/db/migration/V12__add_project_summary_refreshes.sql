@@ -0,0 +1,6 @@
+CREATE TABLE project_demo_jpa.project_summary_refreshes (
+    project_id UUID PRIMARY KEY REFERENCES project_demo_jpa.projects(id) ON DELETE CASCADE,
+    marked_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_project_summary_refreshes_marked_at ON project_demo_jpa.project_summary_refreshes (marked_at);
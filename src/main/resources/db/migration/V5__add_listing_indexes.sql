@@ -0,0 +1,5 @@
+CREATE INDEX idx_projects_status_id
+    ON project_demo_jpa.projects (status, id);
+
+CREATE INDEX idx_projects_planned_end_date_id
+    ON project_demo_jpa.projects (planned_end_date, id);
@@ -0,0 +1,15 @@
+ALTER TABLE project_demo_jpa.projects
+    ADD COLUMN total_estimated_minutes INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN open_task_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE project_demo_jpa.projects p
+SET total_estimated_minutes = totals.total_estimated_minutes,
+    open_task_count = totals.open_task_count
+FROM (
+    SELECT pt.project_id,
+           SUM(pt.estimated_time_hours * 60 + pt.estimated_time_minutes) AS total_estimated_minutes,
+           COUNT(*) FILTER (WHERE pt.task_status <> 'COMPLETE') AS open_task_count
+    FROM project_demo_jpa.project_tasks pt
+    GROUP BY pt.project_id
+) totals
+WHERE p.id = totals.project_id;
@@ -0,0 +1,11 @@
+CREATE TABLE project_demo_jpa.outbox_events (
+    id UUID PRIMARY KEY,
+    event_type TEXT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+CREATE INDEX idx_outbox_events_created_at_id
+    ON project_demo_jpa.outbox_events (created_at, id);
@@ -0,0 +1,12 @@
+CREATE TABLE project_demo_jpa.dead_letter_events (
+    id UUID PRIMARY KEY,
+    event_type TEXT NOT NULL,
+    payload TEXT NOT NULL,
+    failed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    error TEXT NOT NULL,
+    replayed_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+CREATE INDEX idx_dead_letter_events_pending
+    ON project_demo_jpa.dead_letter_events (failed_at)
+    WHERE replayed_at IS NULL;
@@ -0,0 +1,29 @@
+CREATE TABLE project_demo_jpa.project_summaries (
+    project_id UUID PRIMARY KEY REFERENCES project_demo_jpa.projects(id) ON DELETE CASCADE,
+    name TEXT NOT NULL,
+    status TEXT,
+    planned_end_date DATE,
+    task_count INTEGER NOT NULL,
+    completed_task_count INTEGER NOT NULL,
+    estimated_minutes INTEGER NOT NULL,
+    actual_minutes INTEGER NOT NULL,
+    project_version INTEGER NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+INSERT INTO project_demo_jpa.project_summaries (project_id, name, status, planned_end_date, task_count,
+                                                completed_task_count, estimated_minutes, actual_minutes,
+                                                project_version, updated_at)
+SELECT p.id,
+       p.name,
+       p.status,
+       p.planned_end_date,
+       COUNT(pt.id),
+       COUNT(pt.id) FILTER (WHERE pt.task_status = 'COMPLETE'),
+       COALESCE(SUM(pt.estimated_time_hours * 60 + pt.estimated_time_minutes), 0),
+       COALESCE(SUM(pt.actual_time_spent_hours * 60 + pt.actual_time_spent_minutes), 0),
+       p.version,
+       now()
+FROM project_demo_jpa.projects p
+LEFT JOIN project_demo_jpa.project_tasks pt ON pt.project_id = p.id
+GROUP BY p.id;
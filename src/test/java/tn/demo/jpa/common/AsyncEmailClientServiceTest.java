@@ -0,0 +1,154 @@
+package tn.demo.jpa.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tn.demo.jpa.common.domain.EmailAddress;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncEmailClientServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<List<EmailMessage>> sentBatches = new CopyOnWriteArrayList<>();
+    private AsyncEmailClientService underTest;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        underTest.close();
+    }
+
+    @Test
+    void sendsQueuedMessagesInBatchesOnShutdown() throws InterruptedException {
+        underTest = new AsyncEmailClientService(blockingClient(), 10, 1, 5, EmailOverflowPolicy.DROP_NEWEST, Duration.ofSeconds(5), meterRegistry);
+        underTest.send(message(0));
+        waitUntilFirstBatchIsBeingSent();
+        for (int i = 1; i <= 6; i++) {
+            underTest.send(message(i));
+        }
+
+        release.countDown();
+        underTest.close();
+
+        assertEquals(List.of(1, 5, 1), sentBatches.stream().map(List::size).toList());
+        assertEquals(7.0, meterRegistry.get("email.sent").counter().count());
+    }
+
+    @Test
+    void dropsNewestMessageWhenQueueIsFull() throws InterruptedException {
+        underTest = new AsyncEmailClientService(blockingClient(), 2, 1, 5, EmailOverflowPolicy.DROP_NEWEST, Duration.ofSeconds(5), meterRegistry);
+        underTest.send(message(0));
+        waitUntilFirstBatchIsBeingSent();
+        underTest.send(message(1));
+        underTest.send(message(2));
+        underTest.send(message(3));
+
+        release.countDown();
+        underTest.close();
+
+        assertEquals(List.of(message(1), message(2)), sentBatches.get(1));
+        assertEquals(1.0, dropped("overflow"));
+    }
+
+    @Test
+    void dropsOldestMessageWhenQueueIsFull() throws InterruptedException {
+        underTest = new AsyncEmailClientService(blockingClient(), 2, 1, 5, EmailOverflowPolicy.DROP_OLDEST, Duration.ofSeconds(5), meterRegistry);
+        underTest.send(message(0));
+        waitUntilFirstBatchIsBeingSent();
+        underTest.send(message(1));
+        underTest.send(message(2));
+        underTest.send(message(3));
+
+        release.countDown();
+        underTest.close();
+
+        assertEquals(List.of(message(2), message(3)), sentBatches.get(1));
+        assertEquals(1.0, dropped("overflow"));
+    }
+
+    @Test
+    void callerSendsMessageWhenQueueIsFullAndSeesItsFailure() throws InterruptedException {
+        underTest = new AsyncEmailClientService(blockingClientFailingOn(message(2)), 1, 1, 5, EmailOverflowPolicy.CALLER_RUNS, Duration.ofSeconds(5), meterRegistry);
+        underTest.send(message(0));
+        waitUntilFirstBatchIsBeingSent();
+        underTest.send(message(1));
+
+        assertThrows(IllegalStateException.class, () -> underTest.send(message(2)));
+
+        release.countDown();
+        underTest.close();
+
+        assertEquals(List.of(List.of(message(0)), List.of(message(1))), sentBatches);
+        assertEquals(0.0, dropped("overflow"));
+    }
+
+    @Test
+    void rejectsMessagesAfterShutdown() throws InterruptedException {
+        underTest = new AsyncEmailClientService(blockingClient(), 2, 1, 5, EmailOverflowPolicy.CALLER_RUNS, Duration.ofSeconds(5), meterRegistry);
+        underTest.close();
+
+        assertThrows(IllegalStateException.class, () -> underTest.send(message(0)));
+        assertTrue(sentBatches.isEmpty());
+    }
+
+    private void waitUntilFirstBatchIsBeingSent() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sentBatches.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(sentBatches.isEmpty());
+    }
+
+    private EmailClientService blockingClientFailingOn(EmailMessage failing) {
+        EmailClientService blocking = blockingClient();
+        return new EmailClientService() {
+            @Override
+            public void send(EmailMessage message) {
+                sendAll(List.of(message));
+            }
+
+            @Override
+            public void sendAll(List<EmailMessage> messages) {
+                if (messages.contains(failing)) {
+                    throw new IllegalStateException("Mail server unavailable");
+                }
+                blocking.sendAll(messages);
+            }
+        };
+    }
+
+    private EmailClientService blockingClient() {
+        return new EmailClientService() {
+            @Override
+            public void send(EmailMessage message) {
+                sendAll(List.of(message));
+            }
+
+            @Override
+            public void sendAll(List<EmailMessage> messages) {
+                sentBatches.add(List.copyOf(messages));
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("email.dropped").tag("reason", reason).counter().count();
+    }
+
+    private EmailMessage message(int number) {
+        return new EmailMessage(EmailAddress.of("sender@example.com"), EmailAddress.of("recipient@example.com"),
+                "Subject " + number, "Content", false);
+    }
+}
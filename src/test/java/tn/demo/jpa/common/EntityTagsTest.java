@@ -0,0 +1,82 @@
+package tn.demo.jpa.common;
+
+import org.junit.jupiter.api.Test;
+import tn.demo.jpa.common.service.VersionMismatchException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+    @Test
+    void tagIsQuotedVersion() {
+        assertEquals("\"3\"", EntityTags.of(3));
+    }
+
+    @Test
+    void matchingTagHits() {
+        assertTrue(EntityTags.noneMatchHits("\"3\"", 3));
+    }
+
+    @Test
+    void weakTagHits() {
+        assertTrue(EntityTags.noneMatchHits("W/\"3\"", 3));
+    }
+
+    @Test
+    void anyTagInListHits() {
+        assertTrue(EntityTags.noneMatchHits("\"1\", \"2\", \"3\"", 3));
+    }
+
+    @Test
+    void wildcardHits() {
+        assertTrue(EntityTags.noneMatchHits("*", 3));
+    }
+
+    @Test
+    void staleTagMisses() {
+        assertFalse(EntityTags.noneMatchHits("\"2\"", 3));
+    }
+
+    @Test
+    void unquotedTagMisses() {
+        assertFalse(EntityTags.noneMatchHits("3", 3));
+    }
+
+    @Test
+    void missingHeaderMisses() {
+        assertFalse(EntityTags.noneMatchHits(null, 3));
+    }
+
+    @Test
+    void ifMatchTagIsExpectedVersion() {
+        assertDoesNotThrow(() -> EntityTags.expectedVersion("\"3\"").verify(3));
+        assertThrows(VersionMismatchException.class, () -> EntityTags.expectedVersion("\"3\"").verify(4));
+    }
+
+    @Test
+    void missingOrWildcardIfMatchExpectsAnyVersion() {
+        assertTrue(EntityTags.expectedVersion(null).isAny());
+        assertTrue(EntityTags.expectedVersion("*").isAny());
+    }
+
+    @Test
+    void ifMatchListIsComparedTagByTag() {
+        assertDoesNotThrow(() -> EntityTags.expectedVersion("\"1\", \"3\"").verify(3));
+        assertDoesNotThrow(() -> EntityTags.expectedVersion("\"1\",\"3\"").verify(1));
+        assertThrows(VersionMismatchException.class, () -> EntityTags.expectedVersion("\"1\", \"2\"").verify(3));
+    }
+
+    @Test
+    void weakOrForeignIfMatchTagNeverMatches() {
+        assertThrows(VersionMismatchException.class, () -> EntityTags.expectedVersion("W/\"3\"").verify(3));
+        assertThrows(VersionMismatchException.class, () -> EntityTags.expectedVersion("\"abc\"").verify(3));
+        assertDoesNotThrow(() -> EntityTags.expectedVersion("W/\"3\", \"3\"").verify(3));
+    }
+
+    @Test
+    void rejectsMalformedIfMatch() {
+        assertThrows(IllegalArgumentException.class, () -> EntityTags.expectedVersion("3"));
+        assertThrows(IllegalArgumentException.class, () -> EntityTags.expectedVersion("\"3"));
+        assertThrows(IllegalArgumentException.class, () -> EntityTags.expectedVersion("\"3\" \"4\""));
+        assertThrows(IllegalArgumentException.class, () -> EntityTags.expectedVersion(" , "));
+    }
+}
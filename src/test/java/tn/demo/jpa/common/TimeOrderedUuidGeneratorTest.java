@@ -0,0 +1,76 @@
+package tn.demo.jpa.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+    @Test
+    void generatesVersion7UuidWithTimestampPrefix() {
+        long now = 1_750_000_000_000L;
+        TimeOrderedUuidGenerator underTest = new TimeOrderedUuidGenerator(() -> now);
+
+        UUID uuid = underTest.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(now, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void isMonotonicWithinSameMillisecond() {
+        TimeOrderedUuidGenerator underTest = new TimeOrderedUuidGenerator(() -> 1_750_000_000_000L);
+
+        UUID previous = underTest.next();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = underTest.next();
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void isMonotonicWhenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(1_750_000_000_000L);
+        TimeOrderedUuidGenerator underTest = new TimeOrderedUuidGenerator(clock::get);
+
+        UUID first = underTest.next();
+        clock.addAndGet(-1000);
+        UUID second = underTest.next();
+
+        assertTrue(Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits()) < 0);
+    }
+
+    @Test
+    void generatesUniqueValuesForConcurrentCallers() throws Exception {
+        TimeOrderedUuidGenerator underTest = new TimeOrderedUuidGenerator();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<List<UUID>>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(() -> {
+                    List<UUID> generated = new ArrayList<>();
+                    for (int j = 0; j < 10_000; j++) {
+                        generated.add(underTest.next());
+                    }
+                    return generated;
+                });
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> result : executor.invokeAll(callers)) {
+                all.addAll(result.get());
+            }
+            assertEquals(80_000, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package tn.demo.jpa.common.infra.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource replica;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private ReadWriteRoutingDataSource underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ReadWriteRoutingDataSource(primary, replica, replicaUsable::get);
+        underTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void routesReadOnlyTransactionToReplica() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, underTest.getConnection());
+    }
+
+    @Test
+    void routesReadWriteTransactionToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, underTest.getConnection());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaIsNotUsable() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaUsable.set(false);
+
+        assertEquals(DataSourceTarget.PRIMARY, underTest.determineCurrentLookupKey());
+    }
+
+    @Test
+    void routesReadOnlyTransactionToPrimaryWhenForced() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        DataSourceTarget target = DataSourceRouting.onPrimary(underTest::determineCurrentLookupKey);
+
+        assertEquals(DataSourceTarget.PRIMARY, target);
+        assertEquals(DataSourceTarget.REPLICA, underTest.determineCurrentLookupKey());
+    }
+
+    @Test
+    void keepsPrimaryForcedUntilOutermostScopeIsClosed() {
+        try (DataSourceRouting.PrimaryScope outer = DataSourceRouting.forcePrimary()) {
+            try (DataSourceRouting.PrimaryScope inner = DataSourceRouting.forcePrimary()) {
+                assertTrue(DataSourceRouting.isPrimaryForced());
+            }
+            assertTrue(DataSourceRouting.isPrimaryForced());
+        }
+        assertFalse(DataSourceRouting.isPrimaryForced());
+    }
+}
@@ -0,0 +1,123 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import tn.demo.jpa.common.DateService;
+import tn.demo.jpa.common.IDService;
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 17, 12, 0);
+    private static final EncodedEvent ENCODED = new EncodedEvent("ProjectCreated", "{\"projectId\":\"0b4b1c84-6d7e-4a37-9d3b-5b2a8fa0f6a1\"}");
+
+    @Mock
+    private DeadLetterRepository deadLetters;
+    @Mock
+    private OutboxRepository outbox;
+    @Mock
+    private OutboxEventCodec codec;
+    @Mock
+    private IDService IDService;
+    @Mock
+    private DateService dateService;
+
+    private DeadLetterService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new DeadLetterService(deadLetters, outbox, codec, IDService, dateService);
+    }
+
+    @Test
+    void storesEncodedEventWithItsFailure() {
+        var event = new ProjectCreatedEvent(new ProjectId(UUID.randomUUID()));
+        UUID id = UUID.randomUUID();
+        when(codec.encode(event)).thenReturn(ENCODED);
+        when(IDService.newEventId()).thenReturn(id);
+        when(dateService.now()).thenReturn(NOW);
+
+        underTest.add(event, new OptimisticLockingFailureException("Project was updated concurrently"));
+
+        var saved = ArgumentCaptor.forClass(DeadLetterEvent.class);
+        verify(deadLetters).save(saved.capture());
+        var view = saved.getValue().toView();
+        assertEquals(id, view.id());
+        assertEquals(ENCODED.type(), view.eventType());
+        assertEquals(ENCODED.payload(), view.payload());
+        assertEquals(NOW, view.failedAt());
+        assertTrue(view.error().contains("Project was updated concurrently"));
+        assertNull(view.replayedAt());
+    }
+
+    @Test
+    void replayAppendsEventToOutboxAndMarksItReplayed() {
+        DeadLetterEvent deadLetter = deadLetter();
+        UUID outboxId = UUID.randomUUID();
+        when(deadLetters.findById(deadLetter.toView().id())).thenReturn(Optional.of(deadLetter));
+        when(IDService.newEventId()).thenReturn(outboxId);
+        when(dateService.now()).thenReturn(NOW);
+
+        underTest.replay(deadLetter.toView().id());
+
+        var appended = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outbox).save(appended.capture());
+        assertEquals(outboxId, appended.getValue().getId());
+        assertEquals(ENCODED, appended.getValue().encoded());
+        assertEquals(0, appended.getValue().getAttempts());
+        assertEquals(NOW, deadLetter.toView().replayedAt());
+    }
+
+    @Test
+    void replayingReplayedEventAgainDoesNothing() {
+        DeadLetterEvent deadLetter = deadLetter();
+        deadLetter.replayed(NOW);
+        when(deadLetters.findById(deadLetter.toView().id())).thenReturn(Optional.of(deadLetter));
+
+        underTest.replay(deadLetter.toView().id());
+
+        verifyNoInteractions(outbox);
+        assertEquals(NOW, deadLetter.toView().replayedAt());
+    }
+
+    @Test
+    void replayOfUnknownDeadLetterFails() {
+        UUID id = UUID.randomUUID();
+        when(deadLetters.findById(id)).thenReturn(Optional.empty());
+
+        assertThrows(UnknownDeadLetterException.class, () -> underTest.replay(id));
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void replaysAllPendingDeadLetters() {
+        List<DeadLetterEvent> pending = List.of(deadLetter(), deadLetter());
+        when(deadLetters.findByReplayedAtIsNullOrderByFailedAt()).thenReturn(pending);
+        when(IDService.newEventId()).thenReturn(UUID.randomUUID(), UUID.randomUUID());
+        when(dateService.now()).thenReturn(NOW);
+
+        assertEquals(2, underTest.replayAll());
+
+        verify(outbox, times(2)).save(any(OutboxEvent.class));
+        assertTrue(pending.stream().allMatch(DeadLetterEvent::isReplayed));
+    }
+
+    private DeadLetterEvent deadLetter() {
+        return DeadLetterEvent.of(UUID.randomUUID(), ENCODED, NOW.minusHours(1), new IllegalStateException("conflict"));
+    }
+}
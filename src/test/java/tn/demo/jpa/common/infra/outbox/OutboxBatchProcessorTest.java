@@ -0,0 +1,196 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import tn.demo.jpa.common.domain.ActualSpentTime;
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.domain.ProjectTaskId;
+import tn.demo.jpa.project.domain.UnknownProjectTaskIdException;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
+import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
+import tn.demo.jpa.project.service.CompletionOutcome;
+import tn.demo.jpa.project.service.DomainEventListeners;
+import tn.demo.jpa.project.service.ProjectTaskCompletionCoalescer;
+import tn.demo.jpa.project.view.ProjectSummaryService;
+import tn.demo.jpa.team.domain.TeamTaskId;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxBatchProcessorTest {
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxRepository repository;
+    @Mock
+    private OutboxEventCodec codec;
+    @Mock
+    private DomainEventListeners listeners;
+    @Mock
+    private ProjectTaskCompletionCoalescer completionCoalescer;
+    @Mock
+    private DeadLetterService deadLetters;
+    @Mock
+    private ProjectSummaryService projectSummaries;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxBatchProcessor underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new OutboxBatchProcessor(repository, codec, listeners, completionCoalescer, deadLetters,
+                projectSummaries, meterRegistry);
+    }
+
+    @Test
+    void deletesDeliveredEvents() {
+        TaskAddedToProjectEvent added = new TaskAddedToProjectEvent(new ProjectId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()));
+        OutboxEvent outboxEvent = claimed(added);
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(outboxEvent));
+
+        underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+
+        verify(listeners).on(added);
+        verify(repository).delete(outboxEvent);
+        assertEquals(0, outboxEvent.getAttempts());
+        assertEquals(1.0, events("dispatched"));
+    }
+
+    @Test
+    void failedHandlingIncrementsAttemptsAndKeepsTheEvent() {
+        TaskAddedToProjectEvent added = new TaskAddedToProjectEvent(new ProjectId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()));
+        OutboxEvent outboxEvent = claimed(added);
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(outboxEvent));
+        doThrow(new IllegalStateException("mail server unavailable")).when(listeners).on(added);
+
+        underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+
+        verify(repository, never()).delete(outboxEvent);
+        assertEquals(1, outboxEvent.getAttempts());
+        assertEquals(1.0, events("failed"));
+    }
+
+    @Test
+    void undecodableEventIncrementsAttempts() {
+        EncodedEvent encoded = new EncodedEvent("Unknown", "{}");
+        OutboxEvent outboxEvent = OutboxEvent.pending(UUID.randomUUID(), encoded, LocalDateTime.now());
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(outboxEvent));
+        when(codec.decode(encoded)).thenThrow(new IllegalArgumentException("Unknown outbox event type Unknown"));
+
+        underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+
+        verify(repository, never()).delete(outboxEvent);
+        assertEquals(1, outboxEvent.getAttempts());
+    }
+
+    @Test
+    void coalescesDuplicateCompletionsAndDeletesEveryDeliveredRow() {
+        TeamTaskCompletedEvent completed = completedEvent();
+        OutboxEvent first = claimed(completed);
+        OutboxEvent redelivered = claimed(completed);
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(first, redelivered));
+        when(completionCoalescer.completeAll(List.of(completed))).thenReturn(List.of(new CompletionOutcome(completed, null)));
+
+        underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+
+        verify(completionCoalescer).completeAll(List.of(completed));
+        verify(repository).delete(first);
+        verify(repository).delete(redelivered);
+        assertEquals(2.0, events("dispatched"));
+    }
+
+    @Test
+    void failedCompletionIncrementsAttempts() {
+        TeamTaskCompletedEvent completed = completedEvent();
+        OutboxEvent outboxEvent = claimed(completed);
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(outboxEvent));
+        when(completionCoalescer.completeAll(List.of(completed)))
+                .thenReturn(List.of(new CompletionOutcome(completed, new UnknownProjectTaskIdException(completed.getProjectTaskId()))));
+
+        underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+
+        verify(repository, never()).delete(outboxEvent);
+        verifyNoInteractions(deadLetters);
+        assertEquals(1, outboxEvent.getAttempts());
+        assertEquals(1.0, events("failed"));
+    }
+
+    @Test
+    void deadLettersCompletionWhoseOptimisticLockRetriesRanOut() {
+        TeamTaskCompletedEvent completed = completedEvent();
+        OutboxEvent outboxEvent = claimed(completed);
+        var conflict = new OptimisticLockingFailureException("Project was updated concurrently");
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(outboxEvent));
+        when(completionCoalescer.completeAll(List.of(completed))).thenReturn(List.of(new CompletionOutcome(completed, conflict)));
+
+        underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+
+        verify(deadLetters).add(completed, conflict);
+        verify(repository).delete(outboxEvent);
+        assertEquals(0, outboxEvent.getAttempts());
+        assertEquals(1.0, events("dead_lettered"));
+    }
+
+    @Test
+    void marksProjectsTouchedByTheBatchForSummaryRefresh() {
+        ProjectId created = new ProjectId(UUID.randomUUID());
+        ProjectId addedTo = new ProjectId(UUID.randomUUID());
+        TeamTaskCompletedEvent completed = completedEvent();
+        OutboxEvent createdEvent = claimed(new ProjectCreatedEvent(created));
+        OutboxEvent addedEvent = claimed(new TaskAddedToProjectEvent(addedTo, new ProjectTaskId(UUID.randomUUID())));
+        OutboxEvent completedEvent = claimed(completed);
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(createdEvent, addedEvent, completedEvent));
+        when(completionCoalescer.completeAll(List.of(completed))).thenReturn(List.of(new CompletionOutcome(completed, null)));
+
+        assertEquals(3, underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS));
+
+        verify(projectSummaries).markForRefresh(Set.of(created.value(), addedTo.value()), List.of(completed.getProjectTaskId().value()));
+    }
+
+    @Test
+    void marksNothingWhenTheBatchIsEmpty() {
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of());
+
+        assertEquals(0, underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS));
+
+        verifyNoInteractions(projectSummaries);
+    }
+
+    @Test
+    void failedMarkingFailsTheBatchSoThatItsEventsAreNotSettled() {
+        ProjectId created = new ProjectId(UUID.randomUUID());
+        OutboxEvent createdEvent = claimed(new ProjectCreatedEvent(created));
+        when(repository.claimBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(List.of(createdEvent));
+        doThrow(new IllegalStateException("connection lost")).when(projectSummaries).markForRefresh(Set.of(created.value()), List.of());
+
+        assertThrows(IllegalStateException.class, () -> underTest.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS));
+    }
+
+    private OutboxEvent claimed(Object event) {
+        EncodedEvent encoded = new EncodedEvent(event.getClass().getSimpleName(), UUID.randomUUID().toString());
+        when(codec.decode(encoded)).thenReturn(event);
+        return OutboxEvent.pending(UUID.randomUUID(), encoded, LocalDateTime.now());
+    }
+
+    private double events(String result) {
+        return meterRegistry.get("outbox.events").tag("result", result).counter().count();
+    }
+
+    private TeamTaskCompletedEvent completedEvent() {
+        return new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()), new ActualSpentTime(1, 30));
+    }
+}
@@ -0,0 +1,54 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import tn.demo.jpa.common.domain.ActualSpentTime;
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.domain.ProjectTaskId;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
+import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
+import tn.demo.jpa.team.domain.TeamTaskId;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxEventCodecTest {
+    private final OutboxEventCodec underTest = new OutboxEventCodec(new ObjectMapper());
+
+    @Test
+    void encodesAndDecodesTeamTaskCompletedEvent() {
+        var event = new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()), ActualSpentTime.fromMinutes(95));
+
+        var encoded = underTest.encode(event);
+
+        assertEquals(OutboxEventCodec.TEAM_TASK_COMPLETED, encoded.type());
+        assertEquals(event, underTest.decode(encoded));
+    }
+
+    @Test
+    void encodesAndDecodesTaskAddedToProjectEvent() {
+        var event = new TaskAddedToProjectEvent(new ProjectId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()));
+
+        var encoded = underTest.encode(event);
+
+        assertEquals(OutboxEventCodec.TASK_ADDED_TO_PROJECT, encoded.type());
+        assertEquals(event, underTest.decode(encoded));
+    }
+
+    @Test
+    void encodesAndDecodesProjectCreatedEvent() {
+        var event = new ProjectCreatedEvent(new ProjectId(UUID.randomUUID()));
+
+        var encoded = underTest.encode(event);
+
+        assertEquals(OutboxEventCodec.PROJECT_CREATED, encoded.type());
+        assertEquals(event, underTest.decode(encoded));
+    }
+
+    @Test
+    void rejectsUnknownEventType() {
+        assertThrows(IllegalArgumentException.class, () -> underTest.decode(new EncodedEvent("Unknown", "{}")));
+    }
+}
@@ -0,0 +1,70 @@
+package tn.demo.jpa.common.infra.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.demo.jpa.project.view.ProjectSummaryService;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private OutboxBatchProcessor processor;
+    @Mock
+    private OutboxRepository repository;
+    @Mock
+    private ProjectSummaryService projectSummaries;
+
+    private OutboxRelay underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new OutboxRelay(processor, repository, projectSummaries, new SimpleMeterRegistry(), true,
+                BATCH_SIZE, Duration.ofMillis(500), 1, MAX_ATTEMPTS, false);
+    }
+
+    @Test
+    void refreshesMarkedSummariesAfterDrainingTheOutbox() {
+        when(processor.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS)).thenReturn(BATCH_SIZE, 1);
+        when(projectSummaries.refreshMarked(BATCH_SIZE)).thenReturn(BATCH_SIZE, BATCH_SIZE, 0);
+
+        underTest.drain();
+
+        InOrder inOrder = inOrder(processor, projectSummaries);
+        inOrder.verify(processor, times(2)).processNextBatch(BATCH_SIZE, MAX_ATTEMPTS);
+        inOrder.verify(projectSummaries, times(3)).refreshMarked(BATCH_SIZE);
+    }
+
+    @Test
+    void retriesMarkedSummariesOnTheNextPollAfterAFailedRefresh() {
+        when(processor.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS)).thenReturn(0);
+        when(projectSummaries.refreshMarked(BATCH_SIZE))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(1);
+
+        underTest.drain();
+        underTest.drain();
+
+        verify(projectSummaries, times(2)).refreshMarked(BATCH_SIZE);
+    }
+
+    @Test
+    void refreshesMarkedSummariesEvenIfDeliveryFails() {
+        when(processor.processNextBatch(BATCH_SIZE, MAX_ATTEMPTS)).thenThrow(new IllegalStateException("connection lost"));
+        when(projectSummaries.refreshMarked(BATCH_SIZE)).thenReturn(0);
+
+        underTest.drain();
+
+        verify(projectSummaries).refreshMarked(BATCH_SIZE);
+    }
+}
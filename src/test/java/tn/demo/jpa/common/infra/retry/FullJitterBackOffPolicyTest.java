@@ -0,0 +1,41 @@
+package tn.demo.jpa.common.infra.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullJitterBackOffPolicyTest {
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    void sleepsUpToExponentiallyGrowingCeilingCappedAtMaxInterval() {
+        var underTest = new FullJitterBackOffPolicy(Duration.ofMillis(50), Duration.ofMillis(300), 2.0, sleeps::add, () -> 0.999999);
+        var context = underTest.start(null);
+
+        for (int i = 0; i < 5; i++) {
+            underTest.backOff(context);
+        }
+
+        assertEquals(List.of(49L, 99L, 199L, 299L, 299L), sleeps);
+    }
+
+    @Test
+    void sleepsRandomFractionOfCeiling() {
+        var underTest = new FullJitterBackOffPolicy(Duration.ofMillis(100), Duration.ofSeconds(1), 2.0, sleeps::add, () -> 0.25);
+        var context = underTest.start(null);
+
+        underTest.backOff(context);
+        underTest.backOff(context);
+
+        assertEquals(List.of(25L, 50L), sleeps);
+    }
+
+    @Test
+    void rejectsMaxIntervalBelowInitialInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new FullJitterBackOffPolicy(Duration.ofSeconds(2), Duration.ofSeconds(1), 2.0));
+    }
+}
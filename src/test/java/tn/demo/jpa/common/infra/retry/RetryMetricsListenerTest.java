@@ -0,0 +1,94 @@
+package tn.demo.jpa.common.infra.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.backoff.NoBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryMetricsListenerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RetryTemplate retryTemplate;
+
+    @BeforeEach
+    void setUp() {
+        retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(new SimpleRetryPolicy(3, Map.of(OptimisticLockingFailureException.class, true), true));
+        retryTemplate.setBackOffPolicy(new NoBackOffPolicy());
+        retryTemplate.registerListener(new RetryMetricsListener(meterRegistry));
+    }
+
+    @Test
+    void countsConflictsAndRetriesOfAnUpdateThatSucceeds() {
+        run(conflict(), conflict());
+
+        assertEquals(2.0, count("retry.conflicts", "Project"));
+        assertEquals(2.0, count("retry.retries", "Project"));
+        assertNull(meterRegistry.find("retry.exhausted").counter());
+    }
+
+    @Test
+    void countsExhaustedRetries() {
+        assertThrows(OptimisticLockingFailureException.class, () -> run(conflict(), conflict(), conflict()));
+
+        assertEquals(3.0, count("retry.conflicts", "Project"));
+        assertEquals(2.0, count("retry.retries", "Project"));
+        assertEquals(1.0, count("retry.exhausted", "Project"));
+    }
+
+    @Test
+    void doesNotCountOtherErrorsAsConflicts() {
+        assertThrows(IllegalStateException.class, () -> run(new IllegalStateException("task not found")));
+
+        assertNull(meterRegistry.find("retry.conflicts").counter());
+        assertNull(meterRegistry.find("retry.exhausted").counter());
+    }
+
+    @Test
+    void otherErrorAfterConflictIsNotCountedAsExhaustedRetries() {
+        assertThrows(IllegalStateException.class, () -> run(conflict(), new IllegalStateException("task not found")));
+
+        assertEquals(1.0, count("retry.conflicts", "Project"));
+        assertNull(meterRegistry.find("retry.conflicts").tag("aggregate", "unknown").counter());
+        assertNull(meterRegistry.find("retry.exhausted").counter());
+    }
+
+    @Test
+    void findsConflictWrappedInAnotherException() {
+        run(new IllegalStateException("handler failed", conflict()));
+
+        assertEquals(1.0, count("retry.conflicts", "Project"));
+    }
+
+    /**
+     * Fails the attempts with the given errors in turn, and succeeds once they run out.
+     */
+    private void run(RuntimeException... failures) {
+        Deque<RuntimeException> remaining = new ArrayDeque<>(List.of(failures));
+        retryTemplate.execute(context -> {
+            if (!remaining.isEmpty()) {
+                throw remaining.poll();
+            }
+            return null;
+        });
+    }
+
+    private ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("tn.demo.jpa.project.domain.Project", UUID.randomUUID());
+    }
+
+    private double count(String name, String aggregate) {
+        return meterRegistry.get(name).tag("aggregate", aggregate).counter().count();
+    }
+}
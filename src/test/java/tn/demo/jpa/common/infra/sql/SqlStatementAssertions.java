@@ -0,0 +1,45 @@
+package tn.demo.jpa.common.infra.sql;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of SQL statements a piece of code or an endpoint issues, so that an added lazy load or N+1 query
+ * fails the test instead of going unnoticed. In-process calls are counted directly; for HTTP calls, run the
+ * application with {@code sql.statements.expose-header=true} and check the {@value SqlStatementCountFilter#HEADER}
+ * header.
+ */
+public final class SqlStatementAssertions {
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, Supplier<T> action) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            T result = action.get();
+            assertEquals(expected, scope.count(), "SQL statement count");
+            return result;
+        }
+    }
+
+    public static void assertStatementCount(int expected, Runnable action) {
+        assertStatementCount(expected, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static void assertNoStatementRepeated(int times, Runnable action) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            action.run();
+            List<SqlStatementCounter.RepeatedStatement> repeated = scope.repeatedAtLeast(times);
+            assertTrue(repeated.isEmpty(), () -> "Statements repeated %d or more times: %s".formatted(times, repeated));
+        }
+    }
+
+    public static void assertStatementCountHeader(int expected, String headerValue) {
+        assertEquals(String.valueOf(expected), headerValue, SqlStatementCountFilter.HEADER);
+    }
+}
@@ -0,0 +1,145 @@
+package tn.demo.jpa.common.infra.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tn.demo.jpa.common.infra.sql.SqlStatementAssertions.*;
+
+class SqlStatementInspectorTest {
+    private SimpleMeterRegistry meterRegistry;
+    private SqlStatementInspector underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new SqlStatementInspector(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(underTest);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void countsStatementsInOpenScope() {
+        assertStatementCount(2, () -> {
+            underTest.inspect("select 1");
+            underTest.inspect("select 2");
+        });
+    }
+
+    @Test
+    void countsStatementInEveryNestedScope() {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            underTest.inspect("select 1");
+            assertStatementCount(1, () -> underTest.inspect("select 2"));
+            assertEquals(2, outer.count());
+        }
+    }
+
+    @Test
+    void reportsRepeatedStatements() {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            for (int i = 0; i < 3; i++) {
+                underTest.inspect("select * from team_members where team_id = ?");
+            }
+            underTest.inspect("select * from teams");
+
+            var repeated = scope.repeatedAtLeast(3);
+            assertEquals(1, repeated.size());
+            assertEquals(3, repeated.get(0).times());
+        }
+    }
+
+    @Test
+    void failsWhenStatementIsRepeated() {
+        assertThrows(AssertionError.class, () -> assertNoStatementRepeated(2, () -> {
+            underTest.inspect("select 1");
+            underTest.inspect("select 1");
+        }));
+    }
+
+    @Test
+    void returnsStatementUnchanged() {
+        assertEquals("select 1", underTest.inspect("select 1"));
+    }
+
+    @Test
+    void recordsStatementsPerTransactionOnCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionName("TeamService.addTask");
+
+        underTest.inspect("select 1");
+        underTest.inspect("select 2");
+        underTest.inspect("update teams");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        DistributionSummary summary = meterRegistry.get("sql.statements")
+                .tag("scope", "transaction")
+                .tag("name", "TeamService.addTask")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(3.0, summary.totalAmount());
+        assertNull(TransactionSynchronizationManager.getResource(underTest));
+    }
+
+    @Test
+    void countsSuspendedAndInnerTransactionsSeparately() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionName("OutboxBatchProcessor.processNextBatch");
+        underTest.inspect("select 1");
+
+        var outer = TransactionSynchronizationManager.getSynchronizations();
+        outer.forEach(TransactionSynchronization::suspend);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionName("ProjectSummaryService.refreshMarked");
+        underTest.inspect("delete from project_summary_refreshes");
+        underTest.inspect("insert into project_summaries");
+        completeTransaction();
+
+        TransactionSynchronizationManager.initSynchronization();
+        outer.forEach(synchronization -> {
+            synchronization.resume();
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        });
+        TransactionSynchronizationManager.setCurrentTransactionName("OutboxBatchProcessor.processNextBatch");
+        underTest.inspect("delete from outbox_events");
+        completeTransaction();
+
+        assertEquals(2.0, transactionStatements("OutboxBatchProcessor.processNextBatch"));
+        assertEquals(2.0, transactionStatements("ProjectSummaryService.refreshMarked"));
+    }
+
+    @Test
+    void doesNotCountStatementsOutsideTransactions() {
+        underTest.inspect("select 1");
+
+        assertNull(TransactionSynchronizationManager.getResource(underTest));
+        assertTrue(meterRegistry.find("sql.statements").summaries().isEmpty());
+    }
+
+    private void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clear();
+    }
+
+    private double transactionStatements(String name) {
+        return meterRegistry.get("sql.statements")
+                .tag("scope", "transaction")
+                .tag("name", name)
+                .summary()
+                .totalAmount();
+    }
+}
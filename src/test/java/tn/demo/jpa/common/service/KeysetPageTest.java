@@ -0,0 +1,43 @@
+package tn.demo.jpa.common.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPageTest {
+    @Test
+    void givesContinuationTokenOfLastIncludedRowWhenMoreRowsExist() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        KeysetPage<UUID> page = KeysetPage.of(List.of(first, second, third), new PageLimit(2), Function.identity(), Function.identity());
+
+        assertEquals(List.of(first, second), page.items());
+        assertEquals(second, ContinuationToken.decode(page.next()).orElseThrow().lastId());
+    }
+
+    @Test
+    void givesNoContinuationTokenOnLastPage() {
+        UUID first = UUID.randomUUID();
+
+        KeysetPage<UUID> page = KeysetPage.of(List.of(first), new PageLimit(2), Function.identity(), Function.identity());
+
+        assertEquals(List.of(first), page.items());
+        assertNull(page.next());
+    }
+
+    @Test
+    void rejectsMalformedContinuationToken() {
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.decode("not a token"));
+    }
+
+    @Test
+    void rejectsTooLargePageSize() {
+        assertThrows(IllegalArgumentException.class, () -> new PageLimit(PageLimit.MAX_SIZE + 1));
+    }
+}
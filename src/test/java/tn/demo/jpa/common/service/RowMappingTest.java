@@ -0,0 +1,76 @@
+package tn.demo.jpa.common.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowMappingTest {
+    private final UUID id = UUID.randomUUID();
+
+    private record Item(UUID id, String name, Integer count) {
+    }
+
+    @Test
+    void mapsRowsByPosition() {
+        RowMapping<Item> mapping = columns -> {
+            int idColumn = columns.indexOf("id");
+            int name = columns.indexOf("name");
+            int count = columns.indexOf("count");
+            return r -> new Item(r.getUUID(idColumn), r.getString(name), r.getInteger(count));
+        };
+        Function<Object[], Item> underTest = mapping.forColumns("count", "id", "name");
+
+        assertEquals(new Item(id, "first", 1), underTest.apply(new Object[]{1, id, "first"}));
+        assertEquals(new Item(id, "second", null), underTest.apply(new Object[]{null, id, "second"}));
+    }
+
+    @Test
+    void mapsRowsByName() {
+        Function<Object[], Item> underTest = RowMapping.byName(r -> new Item(r.getUUID("id"), r.getString("name"), r.getInteger("count")))
+                .forColumns("id", "name", "count");
+
+        assertEquals(new Item(id, "first", 3), underTest.apply(new Object[]{id, "first", 3L}));
+    }
+
+    @Test
+    void resolvesColumnsOncePerQuery() {
+        int[] binds = {0};
+        RowMapping<String> mapping = columns -> {
+            binds[0]++;
+            int name = columns.indexOf("name");
+            return r -> r.getString(name);
+        };
+        Function<Object[], String> underTest = mapping.forColumns("name");
+
+        underTest.apply(new Object[]{"a"});
+        underTest.apply(new Object[]{"b"});
+
+        assertEquals(1, binds[0]);
+    }
+
+    @Test
+    void matchesAliasesIgnoringCase() {
+        assertEquals(1, ColumnIndex.of("ID", "Name").indexOf("name"));
+    }
+
+    @Test
+    void rejectsUnknownColumn() {
+        var columns = ColumnIndex.of("id");
+
+        assertThrows(IllegalArgumentException.class, () -> columns.indexOf("name"));
+    }
+
+    @Test
+    void convertsTimestamps() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 30);
+        Function<Object[], LocalDateTime> underTest = RowMapping.byName(r -> r.getLocalDateTime("created_at"))
+                .forColumns("created_at");
+
+        assertEquals(now, underTest.apply(new Object[]{Timestamp.valueOf(now)}));
+    }
+}
@@ -0,0 +1,85 @@
+package tn.demo.jpa.common.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedViewCacheTest {
+    private final UUID id = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private VersionedViewCache<String> underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new VersionedViewCache<>("test", true, 100, meterRegistry);
+    }
+
+    @Test
+    void servesCachedViewWhileVersionIsUnchanged() {
+        underTest.get(id, ignored -> Optional.of(1), loader(1));
+        var result = underTest.get(id, ignored -> Optional.of(1), loader(1));
+
+        assertEquals("view-1", result.orElseThrow().value());
+        assertEquals(1, loads.get());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    void reloadsViewWhenVersionHasChanged() {
+        underTest.get(id, ignored -> Optional.of(1), loader(1));
+        var result = underTest.get(id, ignored -> Optional.of(2), loader(2));
+
+        assertEquals("view-2", result.orElseThrow().value());
+        assertEquals(2, loads.get());
+        assertEquals(2.0, gets("miss"));
+    }
+
+    @Test
+    void doesNotReplaceNewerEntryWithOlderLoad() {
+        underTest.get(id, ignored -> Optional.of(2), loader(2));
+        underTest.get(id, ignored -> Optional.of(3), loader(1));
+        var result = underTest.get(id, ignored -> Optional.of(2), loader(2));
+
+        assertEquals("view-2", result.orElseThrow().value());
+        assertEquals(1.0, gets("hit"));
+    }
+
+    @Test
+    void returnsEmptyWithoutLoadingWhenAggregateDoesNotExist() {
+        var result = underTest.get(id, ignored -> Optional.empty(), loader(1));
+
+        assertTrue(result.isEmpty());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void alwaysLoadsWhenDisabled() {
+        var disabled = new VersionedViewCache<String>("disabled", false, 100, meterRegistry);
+
+        disabled.get(id, ignored -> Optional.of(1), loader(1));
+        disabled.get(id, ignored -> Optional.of(1), loader(1));
+
+        assertEquals(2, loads.get());
+    }
+
+    private Function<UUID, Optional<Versioned<String>>> loader(int version) {
+        return ignored -> {
+            loads.incrementAndGet();
+            return Optional.of(new Versioned<>("view-" + version, version));
+        };
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "test").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,61 @@
+package tn.demo.jpa.consent.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import tn.demo.jpa.common.domain.EmailAddress;
+import tn.demo.jpa.consent.domain.EmailOptOut;
+import tn.demo.jpa.consent.events.EmailOptOutChangedEvent;
+import tn.demo.jpa.consent.repository.EmailOptOutRepository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOptOutServiceTest {
+    @Mock
+    private EmailOptOutRepository optOuts;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    private EmailOptOutService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new EmailOptOutService(optOuts, applicationEventPublisher);
+    }
+
+    @Test
+    void optsOutAndPublishesChange() {
+        EmailAddress email = EmailAddress.of("opted@example.com");
+        when(optOuts.existsByEmail("opted@example.com")).thenReturn(false);
+
+        underTest.optOut(email);
+
+        verify(optOuts).save(any(EmailOptOut.class));
+        verify(applicationEventPublisher).publishEvent(new EmailOptOutChangedEvent(email, true));
+    }
+
+    @Test
+    void optingOutTwiceKeepsExistingRow() {
+        EmailAddress email = EmailAddress.of("opted@example.com");
+        when(optOuts.existsByEmail("opted@example.com")).thenReturn(true);
+
+        underTest.optOut(email);
+
+        verify(optOuts, never()).save(any());
+        verify(applicationEventPublisher).publishEvent(new EmailOptOutChangedEvent(email, true));
+    }
+
+    @Test
+    void optsBackInAndPublishesChange() {
+        EmailAddress email = EmailAddress.of("opted@example.com");
+
+        underTest.optBackIn(email);
+
+        verify(optOuts).deleteById("opted@example.com");
+        verify(applicationEventPublisher).publishEvent(new EmailOptOutChangedEvent(email, false));
+    }
+}
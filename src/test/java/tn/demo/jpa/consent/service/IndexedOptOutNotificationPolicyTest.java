@@ -0,0 +1,96 @@
+package tn.demo.jpa.consent.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.demo.jpa.common.domain.EmailAddress;
+import tn.demo.jpa.consent.events.EmailOptOutChangedEvent;
+import tn.demo.jpa.consent.repository.EmailOptOutRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedOptOutNotificationPolicyTest {
+    @Mock
+    private EmailOptOutRepository optOuts;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IndexedOptOutNotificationPolicy underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new IndexedOptOutNotificationPolicy(optOuts, meterRegistry);
+    }
+
+    @Test
+    void answersFromLoadedOptOutsWithoutQueryingDatabase() {
+        when(optOuts.findAllEmails()).thenReturn(List.of("opted@example.com"));
+        underTest.load();
+
+        assertFalse(underTest.notificationToEmailIsAllowed(EmailAddress.of("opted@example.com")));
+        assertTrue(underTest.notificationToEmailIsAllowed(EmailAddress.of("other@example.com")));
+        verify(optOuts, never()).existsByEmail(anyString());
+        assertEquals(2.0, meterRegistry.get("consent.optout.lookups.avoided").counter().count());
+        assertEquals(1.0, meterRegistry.get("consent.optout.index.size").gauge().value());
+    }
+
+    @Test
+    void refreshPicksUpOptOutsRegardlessOfTheirTimestamp() {
+        when(optOuts.findAllEmails()).thenReturn(List.of("opted@example.com"), List.of("opted@example.com", "backdated@example.com"));
+        underTest.load();
+
+        underTest.refresh();
+
+        assertFalse(underTest.notificationToEmailIsAllowed(EmailAddress.of("backdated@example.com")));
+    }
+
+    @Test
+    void refreshDropsDeletedOptOuts() {
+        when(optOuts.findAllEmails()).thenReturn(List.of("opted@example.com"), List.of());
+        underTest.load();
+
+        underTest.refresh();
+
+        assertTrue(underTest.notificationToEmailIsAllowed(EmailAddress.of("opted@example.com")));
+    }
+
+    @Test
+    void deniesLocallyCommittedOptOutBeforeRefresh() {
+        when(optOuts.findAllEmails()).thenReturn(List.of());
+        underTest.load();
+
+        underTest.on(new EmailOptOutChangedEvent(EmailAddress.of("new@example.com"), true));
+
+        assertFalse(underTest.notificationToEmailIsAllowed(EmailAddress.of("new@example.com")));
+    }
+
+    @Test
+    void allowsLocallyCommittedOptBackInBeforeRefresh() {
+        when(optOuts.findAllEmails()).thenReturn(List.of("opted@example.com"));
+        underTest.load();
+
+        underTest.on(new EmailOptOutChangedEvent(EmailAddress.of("opted@example.com"), false));
+
+        assertTrue(underTest.notificationToEmailIsAllowed(EmailAddress.of("opted@example.com")));
+    }
+
+    @Test
+    void keepsLocalOptOutCommittedWhileReloadWasReading() {
+        when(optOuts.findAllEmails()).thenAnswer(invocation -> {
+            underTest.optedOut(EmailAddress.of("during@example.com"));
+            return List.of();
+        });
+
+        underTest.load();
+
+        assertFalse(underTest.notificationToEmailIsAllowed(EmailAddress.of("during@example.com")));
+    }
+}
@@ -5,6 +5,7 @@ import tn.demo.jpa.common.domain.ActualSpentTime;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -66,6 +67,21 @@ class ProjectTest {
         assertTrue(project.isCompleted());
     }
 
+    @Test
+    void doesNotCompleteProjectWhenSameTaskIsCompletedAgain() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 18, 0, 0);
+        LocalDate endDate = LocalDate.of(2026, 12, 31);
+        ProjectId id = new ProjectId(UUID.randomUUID());
+        ProjectTaskId taskId = new ProjectTaskId(UUID.randomUUID());
+        ProjectTaskId taskId2 = new ProjectTaskId(UUID.randomUUID());
+        Project project = Project.createNew(id, "test project", "testing", now, endDate, TimeEstimation.fromMinutes(61), contactPerson());
+        project.addTask(taskId, "task name", "some description", TimeEstimation.fromMinutes(60));
+        project.addTask(taskId2, "task name", "some desc", TimeEstimation.fromMinutes(1));
+        project.completeTask(taskId, ActualSpentTime.fromMinutes(50));
+        project.completeTask(taskId, ActualSpentTime.fromMinutes(55));
+        assertFalse(project.isCompleted());
+    }
+
     @Test
     void cannotAddTaskToCompletedProject() {
         LocalDateTime now = LocalDateTime.of(2025, 6, 1, 18, 0, 0);
@@ -80,6 +96,42 @@ class ProjectTest {
         assertThrows(ProjectAlreadyCompletedException.class, () -> project.addTask(taskId2, "task", "desc", TimeEstimation.fromMinutes(1)));
     }
 
+    @Test
+    void addsTasksInBatch() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 18, 0, 0);
+        LocalDate endDate = LocalDate.of(2026, 12, 31);
+        ProjectId id = new ProjectId(UUID.randomUUID());
+        ProjectTaskId taskId = new ProjectTaskId(UUID.randomUUID());
+        ProjectTaskId taskId2 = new ProjectTaskId(UUID.randomUUID());
+        Project project = Project.createNew(id, "test project", "testing", now, endDate, TimeEstimation.fromMinutes(60), contactPerson());
+
+        project.addTasks(List.of(
+                new NewProjectTask(taskId, "task name", "some description", TimeEstimation.fromMinutes(30)),
+                new NewProjectTask(taskId2, "task name 2", "some description 2", TimeEstimation.fromMinutes(30))));
+
+        assertEquals(new ProjectTaskSnapshot(taskId, id, "task name", "some description", TimeEstimation.fromMinutes(30)), project.getTask(taskId).orElseThrow());
+        assertEquals(new ProjectTaskSnapshot(taskId2, id, "task name 2", "some description 2", TimeEstimation.fromMinutes(30)), project.getTask(taskId2).orElseThrow());
+        assertEquals(TimeEstimation.fromMinutes(60), project.getEstimationOfAllTasks());
+    }
+
+    @Test
+    void addsNoneOfBatchWhenTimeEstimationWouldBeExceeded() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 18, 0, 0);
+        LocalDate endDate = LocalDate.of(2026, 12, 31);
+        ProjectId id = new ProjectId(UUID.randomUUID());
+        ProjectTaskId taskId = new ProjectTaskId(UUID.randomUUID());
+        ProjectTaskId taskId2 = new ProjectTaskId(UUID.randomUUID());
+        Project project = Project.createNew(id, "test project", "testing", now, endDate, TimeEstimation.fromMinutes(60), contactPerson());
+
+        List<NewProjectTask> batch = List.of(
+                new NewProjectTask(taskId, "task name", "some description", TimeEstimation.fromMinutes(30)),
+                new NewProjectTask(taskId2, "task name 2", "some description 2", TimeEstimation.fromMinutes(31)));
+
+        assertThrows(ProjectTimeEstimationWouldBeExceededException.class, () -> project.addTasks(batch));
+        verifyNoTaskFound(project, taskId);
+        verifyNoTaskFound(project, taskId2);
+    }
+
     private void verifyNoTaskFound(Project project, ProjectTaskId taskId) {
         assertTrue(project.getTask(taskId).isEmpty());
     }
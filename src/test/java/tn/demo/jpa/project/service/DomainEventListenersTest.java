@@ -15,9 +15,11 @@ import tn.demo.jpa.project.repository.ProjectRepository;
 import tn.demo.jpa.team.domain.TeamTaskId;
 import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -39,16 +41,54 @@ class DomainEventListenersTest {
     }
 
     @Test
-    void marksProjectTaskCompletedOnTeamTaskCompletedEvent(){
-        TeamTaskId taskID = new TeamTaskId(UUID.randomUUID());
+    void marksProjectTasksCompletedOnProjectTaskCompletions(){
+        ProjectId projectId = new ProjectId(UUID.randomUUID());
         ProjectTaskId projectTaskId = new ProjectTaskId(UUID.randomUUID());
+        ProjectTaskId projectTaskId2 = new ProjectTaskId(UUID.randomUUID());
 
-        TeamTaskCompletedEvent teamTaskCompletedEvent = new TeamTaskCompletedEvent(taskID, projectTaskId, ActualSpentTime.fromMinutes(50));
+        TeamTaskCompletedEvent teamTaskCompletedEvent = new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), projectTaskId, ActualSpentTime.fromMinutes(50));
+        TeamTaskCompletedEvent teamTaskCompletedEvent2 = new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), projectTaskId2, ActualSpentTime.fromMinutes(20));
         Project project = mock(Project.class);
-        when(projects.findByTaskId(projectTaskId.value())).thenReturn(Optional.of(project));
+        when(projects.findById(projectId.value())).thenReturn(Optional.of(project));
+
+        var outcomes = underTest.on(new ProjectTaskCompletions(projectId, List.of(teamTaskCompletedEvent, teamTaskCompletedEvent2)));
 
-        underTest.on(teamTaskCompletedEvent);
         verify(project).completeTask(projectTaskId, ActualSpentTime.fromMinutes(50));
+        verify(project).completeTask(projectTaskId2, ActualSpentTime.fromMinutes(20));
+        verify(projects, times(1)).findById(projectId.value());
+        assertTrue(outcomes.stream().noneMatch(CompletionOutcome::isFailed));
+    }
+
+    @Test
+    void reportsRejectedCompletionWithoutFailingOthersOfSameProject(){
+        ProjectId projectId = new ProjectId(UUID.randomUUID());
+        ProjectTaskId unknownTaskId = new ProjectTaskId(UUID.randomUUID());
+        ProjectTaskId projectTaskId = new ProjectTaskId(UUID.randomUUID());
+
+        TeamTaskCompletedEvent rejected = new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), unknownTaskId, ActualSpentTime.fromMinutes(50));
+        TeamTaskCompletedEvent accepted = new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), projectTaskId, ActualSpentTime.fromMinutes(20));
+        Project project = mock(Project.class);
+        when(projects.findById(projectId.value())).thenReturn(Optional.of(project));
+        doThrow(new UnknownProjectTaskIdException(unknownTaskId)).when(project).completeTask(unknownTaskId, ActualSpentTime.fromMinutes(50));
+
+        var outcomes = underTest.on(new ProjectTaskCompletions(projectId, List.of(rejected, accepted)));
+
+        assertTrue(outcomes.get(0).isFailed());
+        assertFalse(outcomes.get(1).isFailed());
+        verify(project).completeTask(projectTaskId, ActualSpentTime.fromMinutes(20));
+    }
+
+    @Test
+    void failsCompletionsOfUnknownProject(){
+        ProjectId projectId = new ProjectId(UUID.randomUUID());
+        TeamTaskCompletedEvent teamTaskCompletedEvent = new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()), ActualSpentTime.fromMinutes(50));
+        when(projects.findById(projectId.value())).thenReturn(Optional.empty());
+
+        var outcomes = underTest.on(new ProjectTaskCompletions(projectId, List.of(teamTaskCompletedEvent)));
+
+        assertEquals(1, outcomes.size());
+        var failure = assertInstanceOf(UnknownProjectIdException.class, outcomes.get(0).failure());
+        assertEquals(projectId, failure.getProjectId());
     }
 
     @Test
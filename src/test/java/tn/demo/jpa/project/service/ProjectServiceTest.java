@@ -7,12 +7,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import tn.demo.jpa.common.IDService;
+import tn.demo.jpa.common.service.ExpectedVersion;
+import tn.demo.jpa.common.service.VersionMismatchException;
 import tn.demo.jpa.project.controller.ContactPersonInput;
+import tn.demo.jpa.project.controller.TaskInput;
 import tn.demo.jpa.project.domain.*;
+import tn.demo.jpa.project.events.ProjectCreatedEvent;
 import tn.demo.jpa.project.events.TaskAddedToProjectEvent;
 import tn.demo.jpa.project.repository.ProjectRepository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,8 +53,11 @@ class ProjectServiceTest {
         when(project.getId()).thenReturn(id.value());
         when(projects.add(project)).thenReturn(project);
 
-        ProjectId actual = underTest.createProject( "test project", "test description", endDate, timeEstimation, new ContactPersonInput("name", "email"));
-        assertEquals(id, actual);
+        when(project.getVersion()).thenReturn(0);
+        var actual = underTest.createProject( "test project", "test description", endDate, timeEstimation, new ContactPersonInput("name", "email"));
+        assertEquals(id, actual.value());
+        assertEquals(0, actual.version());
+        verify(applicationEventPublisher).publishEvent(new ProjectCreatedEvent(id));
     }
     @Test
     void addsTaskTo(){
@@ -61,7 +69,7 @@ class ProjectServiceTest {
         when(IDService.newProjectTaskId()).thenReturn(taskId);
         when(projects.findById(id.value())).thenReturn(Optional.of(project));
 
-        ProjectTaskId actualTaskId = underTest.addTaskTo(id, taskName, description, new tn.demo.jpa.project.controller.TimeEstimation(0,5));
+        ProjectTaskId actualTaskId = underTest.addTaskTo(id, ExpectedVersion.ANY, taskName, description, new tn.demo.jpa.project.controller.TimeEstimation(0,5)).value();
         assertEquals(taskId, actualTaskId);
 
         verify(project).addTask(taskId, taskName, description, TimeEstimation.fromMinutes(5));
@@ -77,7 +85,47 @@ class ProjectServiceTest {
         when(IDService.newProjectTaskId()).thenReturn(taskId);
         when(projects.findById(id.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownProjectIdException.class, () -> underTest.addTaskTo(id, taskName, description, new tn.demo.jpa.project.controller.TimeEstimation(0,5)));
+        assertThrows(UnknownProjectIdException.class, () -> underTest.addTaskTo(id, ExpectedVersion.ANY, taskName, description, new tn.demo.jpa.project.controller.TimeEstimation(0,5)));
         verifyNoInteractions(applicationEventPublisher);
     }
+
+    @Test
+    void rejectsStaleVersionWithoutLoadingProject(){
+        ProjectId id = new ProjectId(UUID.randomUUID());
+        when(IDService.newProjectTaskId()).thenReturn(new ProjectTaskId(UUID.randomUUID()));
+        when(projects.findVersion(id.value())).thenReturn(Optional.of(2));
+
+        assertThrows(VersionMismatchException.class, () -> underTest.addTaskTo(id, ExpectedVersion.of(1), "taskName", "task description", new tn.demo.jpa.project.controller.TimeEstimation(0,5)));
+        verify(projects, never()).findById(id.value());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void addsTasksToProjectInOneBatch(){
+        ProjectId id = new ProjectId(UUID.randomUUID());
+        Project project = mock(Project.class);
+        ProjectTaskId taskId = new ProjectTaskId(UUID.randomUUID());
+        ProjectTaskId taskId2 = new ProjectTaskId(UUID.randomUUID());
+        when(IDService.newProjectTaskId()).thenReturn(taskId, taskId2);
+        when(projects.findById(id.value())).thenReturn(Optional.of(project));
+
+        List<ProjectTaskId> actual = underTest.addTasksTo(id, ExpectedVersion.ANY, List.of(
+                new TaskInput("task 1", "description 1", new tn.demo.jpa.project.controller.TimeEstimation(0, 5)),
+                new TaskInput("task 2", "description 2", new tn.demo.jpa.project.controller.TimeEstimation(1, 0)))).value();
+        assertEquals(List.of(taskId, taskId2), actual);
+
+        verify(project).addTasks(List.of(
+                new NewProjectTask(taskId, "task 1", "description 1", TimeEstimation.fromMinutes(5)),
+                new NewProjectTask(taskId2, "task 2", "description 2", TimeEstimation.fromMinutes(60))));
+        verify(applicationEventPublisher).publishEvent(new TaskAddedToProjectEvent(id, taskId));
+        verify(applicationEventPublisher).publishEvent(new TaskAddedToProjectEvent(id, taskId2));
+    }
+
+    @Test
+    void rejectsEmptyTaskBatch(){
+        ProjectId id = new ProjectId(UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> underTest.addTasksTo(id, ExpectedVersion.ANY, List.of()));
+        verifyNoInteractions(projects, applicationEventPublisher);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package tn.demo.jpa.project.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import tn.demo.jpa.common.domain.ActualSpentTime;
+import tn.demo.jpa.project.domain.ProjectId;
+import tn.demo.jpa.project.domain.ProjectTaskId;
+import tn.demo.jpa.project.domain.UnknownProjectTaskIdException;
+import tn.demo.jpa.project.repository.ProjectRepository;
+import tn.demo.jpa.project.repository.ProjectTaskOwner;
+import tn.demo.jpa.team.domain.TeamTaskId;
+import tn.demo.jpa.team.events.TeamTaskCompletedEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectTaskCompletionCoalescerTest {
+    @Mock
+    private ProjectRepository projects;
+    @Mock
+    private DomainEventListeners listeners;
+
+    private ProjectTaskCompletionCoalescer underTest;
+
+    @BeforeEach
+    void setup() {
+        underTest = new ProjectTaskCompletionCoalescer(projects, listeners);
+    }
+
+    @Test
+    void appliesCompletionsOfSameProjectTogether() {
+        UUID projectId = UUID.randomUUID();
+        UUID otherProjectId = UUID.randomUUID();
+        TeamTaskCompletedEvent first = completion();
+        TeamTaskCompletedEvent second = completion();
+        TeamTaskCompletedEvent ofOtherProject = completion();
+        when(projects.findOwnersOfTasks(anyCollection())).thenReturn(List.of(
+                owner(first, projectId), owner(ofOtherProject, otherProjectId), owner(second, projectId)));
+        var group = new ProjectTaskCompletions(new ProjectId(projectId), List.of(first, second));
+        var otherGroup = new ProjectTaskCompletions(new ProjectId(otherProjectId), List.of(ofOtherProject));
+        when(listeners.on(group)).thenReturn(List.of(CompletionOutcome.completed(first), CompletionOutcome.completed(second)));
+        when(listeners.on(otherGroup)).thenReturn(List.of(CompletionOutcome.completed(ofOtherProject)));
+
+        var outcomes = underTest.completeAll(List.of(first, ofOtherProject, second));
+
+        assertEquals(3, outcomes.size());
+        verify(listeners).on(group);
+        verify(listeners).on(otherGroup);
+    }
+
+    @Test
+    void reportsGroupFailureForEachEventOfGroup() {
+        UUID projectId = UUID.randomUUID();
+        TeamTaskCompletedEvent first = completion();
+        TeamTaskCompletedEvent second = completion();
+        when(projects.findOwnersOfTasks(anyCollection())).thenReturn(List.of(owner(first, projectId), owner(second, projectId)));
+        var conflict = new OptimisticLockingFailureException("conflict");
+        when(listeners.on(new ProjectTaskCompletions(new ProjectId(projectId), List.of(first, second)))).thenThrow(conflict);
+
+        var outcomes = underTest.completeAll(List.of(first, second));
+
+        assertEquals(List.of(CompletionOutcome.failed(first, conflict), CompletionOutcome.failed(second, conflict)), outcomes);
+    }
+
+    @Test
+    void failsCompletionOfUnknownProjectTask() {
+        UUID projectId = UUID.randomUUID();
+        TeamTaskCompletedEvent unknown = completion();
+        TeamTaskCompletedEvent known = completion();
+        when(projects.findOwnersOfTasks(anyCollection())).thenReturn(List.of(owner(known, projectId)));
+        var group = new ProjectTaskCompletions(new ProjectId(projectId), List.of(known));
+        when(listeners.on(group)).thenReturn(List.of(CompletionOutcome.completed(known)));
+
+        var outcomes = underTest.completeAll(List.of(unknown, known));
+
+        assertEquals(2, outcomes.size());
+        assertEquals(unknown, outcomes.get(0).event());
+        var failure = assertInstanceOf(UnknownProjectTaskIdException.class, outcomes.get(0).failure());
+        assertEquals(unknown.getProjectTaskId(), failure.getTaskId());
+        assertEquals(CompletionOutcome.completed(known), outcomes.get(1));
+        verify(listeners).on(group);
+    }
+
+    private TeamTaskCompletedEvent completion() {
+        return new TeamTaskCompletedEvent(new TeamTaskId(UUID.randomUUID()), new ProjectTaskId(UUID.randomUUID()), ActualSpentTime.fromMinutes(30));
+    }
+
+    private ProjectTaskOwner owner(TeamTaskCompletedEvent event, UUID projectId) {
+        return new ProjectTaskOwner(event.getProjectTaskId().value(), projectId);
+    }
+}
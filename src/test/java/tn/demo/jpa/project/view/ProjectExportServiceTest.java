@@ -0,0 +1,118 @@
+package tn.demo.jpa.project.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectExportServiceTest {
+    private static final int FETCH_SIZE = 500;
+
+    @Mock
+    private ProjectViewRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ProjectExportService underTest;
+
+    @BeforeEach
+    void setUp() {
+        var projectViewService = new ProjectViewService(repository, new SimpleMeterRegistry(), false, 100);
+        underTest = new ProjectExportService(repository, projectViewService, objectMapper, FETCH_SIZE);
+    }
+
+    @Test
+    void emptyResultWritesNothing() {
+        when(repository.streamProjectsWithTasks(FETCH_SIZE)).thenReturn(Stream.empty());
+
+        assertTrue(export().isEmpty());
+    }
+
+    @Test
+    void projectWithoutTasksIsWrittenWithEmptyTasks() {
+        UUID projectId = UUID.randomUUID();
+        when(repository.streamProjectsWithTasks(FETCH_SIZE)).thenReturn(Stream.of(withoutTasks(projectId, "no tasks")));
+
+        List<JsonNode> lines = export();
+
+        assertEquals(1, lines.size());
+        assertEquals(projectId.toString(), lines.get(0).get("id").asText());
+        assertEquals("no tasks", lines.get(0).get("name").asText());
+        assertTrue(lines.get(0).get("tasks").isEmpty());
+    }
+
+    @Test
+    void adjacentRowsOfOneProjectAreWrittenAsOneLine() {
+        UUID firstProjectId = UUID.randomUUID();
+        UUID secondProjectId = UUID.randomUUID();
+        UUID thirdProjectId = UUID.randomUUID();
+        UUID firstTaskId = UUID.randomUUID();
+        UUID secondTaskId = UUID.randomUUID();
+        UUID thirdTaskId = UUID.randomUUID();
+        when(repository.streamProjectsWithTasks(FETCH_SIZE)).thenReturn(Stream.of(
+                withTask(firstProjectId, "first", firstTaskId, "COMPLETE"),
+                withTask(firstProjectId, "first", secondTaskId, "INCOMPLETE"),
+                withoutTasks(secondProjectId, "second"),
+                withTask(thirdProjectId, "third", thirdTaskId, "INCOMPLETE")));
+
+        List<JsonNode> lines = export();
+
+        assertEquals(3, lines.size());
+        assertEquals(firstProjectId.toString(), lines.get(0).get("id").asText());
+        assertEquals(List.of(firstTaskId.toString(), secondTaskId.toString()), taskIds(lines.get(0)));
+        assertEquals(secondProjectId.toString(), lines.get(1).get("id").asText());
+        assertEquals(List.of(), taskIds(lines.get(1)));
+        assertEquals(thirdProjectId.toString(), lines.get(2).get("id").asText());
+        assertEquals(List.of(thirdTaskId.toString()), taskIds(lines.get(2)));
+    }
+
+    private List<JsonNode> export() {
+        var out = new ByteArrayOutputStream();
+        underTest.exportTo(out);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(this::readTree)
+                .toList();
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> taskIds(JsonNode project) {
+        List<String> ids = new ArrayList<>();
+        project.get("tasks").forEach(task -> ids.add(task.get("id").asText()));
+        return ids;
+    }
+
+    private static ProjectTaskRow withoutTasks(UUID projectId, String name) {
+        return new ProjectTaskRow(projectId, name, "description", 10, 0, "PLANNED", 0,
+                null, null, null, null, null, null, null, null);
+    }
+
+    private static ProjectTaskRow withTask(UUID projectId, String name, UUID taskId, String taskStatus) {
+        boolean completed = taskStatus.equals("COMPLETE");
+        return new ProjectTaskRow(projectId, name, "description", 10, 0, "PLANNED", 0,
+                taskId, "task", "task description", taskStatus, 2, 30,
+                completed ? 3 : null, completed ? 0 : null);
+    }
+}
@@ -0,0 +1,89 @@
+package tn.demo.jpa.project.view;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectRollupServiceTest {
+    @Mock
+    private ProjectRollupRepository repository;
+
+    @Test
+    void assemblesPortfolioStatusAndProjectLevels() {
+        var underTest = new ProjectRollupService(repository, new SimpleMeterRegistry(), false, Duration.ofMinutes(1));
+        UUID unplanned = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        var rows = List.of(
+                row(RollupRow.PORTFOLIO, null, null, 3, 600),
+                row(RollupRow.STATUS, null, null, 1, 0),
+                row(RollupRow.PROJECT, null, unplanned, 1, 0),
+                row(RollupRow.STATUS, "PLANNED", null, 2, 600),
+                row(RollupRow.PROJECT, "PLANNED", first, 1, 420),
+                row(RollupRow.PROJECT, "PLANNED", second, 1, 180));
+        LocalDateTime now = LocalDateTime.now();
+
+        var view = underTest.toView(rows, now);
+
+        assertEquals(600, view.totals().estimatedMinutes());
+        assertEquals(3, view.totals().projectCount());
+        assertEquals(2, view.statuses().size());
+        assertEquals(null, view.statuses().get(0).status());
+        assertEquals(List.of(unplanned), view.statuses().get(0).projects().stream().map(ProjectRollupView::id).toList());
+        assertEquals("PLANNED", view.statuses().get(1).status());
+        assertEquals(600, view.statuses().get(1).totals().estimatedMinutes());
+        assertEquals(List.of(first, second), view.statuses().get(1).projects().stream().map(ProjectRollupView::id).toList());
+        assertEquals(now, view.computedAt());
+    }
+
+    @Test
+    void statusLevelRollupHasNoProjects() {
+        var underTest = new ProjectRollupService(repository, new SimpleMeterRegistry(), false, Duration.ofMinutes(1));
+
+        var view = underTest.toView(List.of(
+                row(RollupRow.PORTFOLIO, null, null, 1, 60),
+                row(RollupRow.STATUS, "PLANNED", null, 1, 60)), LocalDateTime.now());
+
+        assertEquals(List.of(), view.statuses().get(0).projects());
+    }
+
+    @Test
+    void servesCachedRollupWithinStalenessBound() {
+        var underTest = new ProjectRollupService(repository, new SimpleMeterRegistry(), true, Duration.ofMinutes(1));
+        when(repository.findRollup(true)).thenReturn(List.of(row(RollupRow.PORTFOLIO, null, null, 1, 60)));
+
+        var first = underTest.rollup(true);
+        var second = underTest.rollup(true);
+
+        assertSame(first, second);
+        verify(repository, times(1)).findRollup(true);
+    }
+
+    @Test
+    void queriesEveryTimeWithoutCache() {
+        var underTest = new ProjectRollupService(repository, new SimpleMeterRegistry(), false, Duration.ofMinutes(1));
+        when(repository.findRollup(false)).thenReturn(List.of(row(RollupRow.PORTFOLIO, null, null, 1, 60)));
+
+        underTest.rollup(false);
+        underTest.rollup(false);
+
+        verify(repository, times(2)).findRollup(false);
+    }
+
+    private RollupRow row(int level, String status, UUID projectId, long projectCount, long estimatedMinutes) {
+        return new RollupRow(level, status, projectId, projectId == null ? null : "project", projectCount, 2, 1,
+                estimatedMinutes, estimatedMinutes / 2, estimatedMinutes / 3);
+    }
+}
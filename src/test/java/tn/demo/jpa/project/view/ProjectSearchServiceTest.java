@@ -0,0 +1,76 @@
+package tn.demo.jpa.project.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.demo.jpa.common.service.PageLimit;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectSearchServiceTest {
+    @Mock
+    private ProjectSearchRepository repository;
+    private ProjectSearchService underTest;
+
+    @BeforeEach
+    void setup() {
+        underTest = new ProjectSearchService(repository);
+    }
+
+    @Test
+    void returnsRankedPageWithTokenOfLastRow() {
+        var first = row(0.9f);
+        var second = row(0.5f);
+        var third = row(0.1f);
+        when(repository.search("robot", null, 3)).thenReturn(List.of(first, second, third));
+
+        var page = underTest.search("robot", false, null, new PageLimit(2));
+
+        assertEquals(List.of(first.id(), second.id()), page.items().stream().map(ProjectSearchView::id).toList());
+        assertEquals(new SearchContinuationToken(0.5f, second.id()), SearchContinuationToken.decode(page.next()).orElseThrow());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void continuesAfterToken() {
+        var after = new SearchContinuationToken(0.5f, UUID.randomUUID());
+        when(repository.search("robot", after, 3)).thenReturn(List.of(row(0.4f)));
+
+        var page = underTest.search("robot", false, after.encode(), new PageLimit(2));
+
+        assertEquals(1, page.items().size());
+        assertNull(page.next());
+    }
+
+    @Test
+    void attachesMatchingTasksWhenRequested() {
+        var project = row(0.9f);
+        var other = row(0.5f);
+        UUID taskId = UUID.randomUUID();
+        when(repository.search("robot", null, 51)).thenReturn(List.of(project, other));
+        when(repository.findMatchingTasks("robot", List.of(project.id(), other.id())))
+                .thenReturn(List.of(new MatchingTaskRow(project.id(), taskId, "robot tests", null, "COMPLETE")));
+
+        var page = underTest.search("robot", true, null, new PageLimit(50));
+
+        assertEquals(List.of(new MatchingTaskView(taskId, "robot tests", null, true)), page.items().get(0).matchingTasks());
+        assertEquals(List.of(), page.items().get(1).matchingTasks());
+    }
+
+    @Test
+    void rejectsBlankQuery() {
+        assertThrows(IllegalArgumentException.class, () -> underTest.search(" ", false, null, new PageLimit(50)));
+        verifyNoInteractions(repository);
+    }
+
+    private ProjectSearchRow row(float rank) {
+        return new ProjectSearchRow(UUID.randomUUID(), "project", "description", "PLANNED", rank);
+    }
+}
@@ -0,0 +1,91 @@
+package tn.demo.jpa.project.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tn.demo.jpa.common.service.EntityManagerUtils;
+import tn.demo.jpa.common.service.RowMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectSummaryRepositoryTest {
+    @Mock
+    private EntityManagerUtils entityManagerUtils;
+
+    private ProjectSummaryRepository underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ProjectSummaryRepository(entityManagerUtils);
+    }
+
+    @Test
+    void emptySelectionsRunNoStatements() {
+        assertEquals(0, underTest.markProjects(List.of()));
+        assertEquals(0, underTest.markProjectsOfTasks(List.of()));
+        assertEquals(0, underTest.recomputeProjects(List.of()));
+        assertEquals(0, underTest.recomputeProjectsOfTasks(List.of()));
+        verifyNoInteractions(entityManagerUtils);
+    }
+
+    @Test
+    void marksProjectsOnceWithoutReorderingExistingMarks() {
+        List<UUID> projectIds = List.of(UUID.randomUUID());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(entityManagerUtils.execute(eq("project_summaries_mark"), sql.capture(), eq(Map.of("projectIds", projectIds)))).thenReturn(1);
+
+        assertEquals(1, underTest.markProjects(projectIds));
+        assertTrue(sql.getValue().contains("FROM project_demo_jpa.projects p"));
+        assertTrue(sql.getValue().contains("ON CONFLICT (project_id) DO NOTHING"));
+    }
+
+    @Test
+    void marksOwnersOfTasks() {
+        List<UUID> projectTaskIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(entityManagerUtils.execute(eq("project_summaries_mark_by_task"), sql.capture(), eq(Map.of("projectTaskIds", projectTaskIds)))).thenReturn(1);
+
+        assertEquals(1, underTest.markProjectsOfTasks(projectTaskIds));
+        assertTrue(sql.getValue().contains("SELECT DISTINCT t.project_id"));
+        assertTrue(sql.getValue().contains("WHERE t.id IN (:projectTaskIds)"));
+    }
+
+    @Test
+    void claimsOldestMarksSkippingLockedOnes() {
+        UUID projectId = UUID.randomUUID();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(entityManagerUtils.<UUID>findRows(eq("project_summaries_claim_marked"), sql.capture(), eq(Map.of("limit", 50)), any(RowMapping.class)))
+                .thenReturn(List.of(projectId));
+
+        assertEquals(List.of(projectId), underTest.claimMarked(50));
+        assertTrue(sql.getValue().startsWith("DELETE FROM project_demo_jpa.project_summary_refreshes"));
+        assertTrue(sql.getValue().contains("ORDER BY r.marked_at"));
+        assertTrue(sql.getValue().contains("FOR UPDATE SKIP LOCKED"));
+        assertTrue(sql.getValue().contains("RETURNING project_id"));
+    }
+
+    @Test
+    void recomputesOnlyWhenSummaryIsNotNewer() {
+        List<UUID> projectIds = List.of(UUID.randomUUID());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(entityManagerUtils.execute(eq("project_summaries_recompute"), sql.capture(), eq(Map.of("projectIds", projectIds)))).thenReturn(1);
+
+        assertEquals(1, underTest.recomputeProjects(projectIds));
+        assertTrue(sql.getValue().contains("WHERE p.id IN (:projectIds)"));
+        assertTrue(sql.getValue().contains("WHERE project_summaries.project_version <= EXCLUDED.project_version"));
+        verify(entityManagerUtils, never()).execute(eq("project_summaries_recompute_by_task"), anyString(), any());
+    }
+}
@@ -0,0 +1,69 @@
+package tn.demo.jpa.project.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectSummaryServiceTest {
+    @Mock
+    private ProjectSummaryRepository repository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ProjectSummaryService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ProjectSummaryService(repository, transactionTemplate, 500);
+    }
+
+    @Test
+    void marksProjectsAndProjectsOfTasks() {
+        Set<UUID> projectIds = Set.of(UUID.randomUUID());
+        List<UUID> projectTaskIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        underTest.markForRefresh(projectIds, projectTaskIds);
+
+        verify(repository).markProjects(projectIds);
+        verify(repository).markProjectsOfTasks(projectTaskIds);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void recomputesClaimedProjects() {
+        List<UUID> claimed = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(repository.claimMarked(10)).thenReturn(claimed);
+
+        assertEquals(2, underTest.refreshMarked(10));
+        verify(repository).recomputeProjects(claimed);
+    }
+
+    @Test
+    void refreshWithoutMarksRecomputesNothing() {
+        when(repository.claimMarked(10)).thenReturn(List.of());
+
+        assertEquals(0, underTest.refreshMarked(10));
+        verify(repository).recomputeProjects(List.of());
+    }
+
+    @Test
+    void failedRecomputeIsThrownSoThatClaimedMarksAreRolledBack() {
+        List<UUID> claimed = List.of(UUID.randomUUID());
+        when(repository.claimMarked(10)).thenReturn(claimed);
+        when(repository.recomputeProjects(claimed)).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThrows(IllegalStateException.class, () -> underTest.refreshMarked(10));
+    }
+}
@@ -8,6 +8,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import tn.demo.jpa.common.IDService;
+import tn.demo.jpa.common.service.ExpectedVersion;
+import tn.demo.jpa.common.service.VersionMismatchException;
 import tn.demo.jpa.common.domain.ActualSpentTime;
 import tn.demo.jpa.project.domain.*;
 import tn.demo.jpa.project.repository.ProjectRepository;
@@ -20,6 +22,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,8 +53,10 @@ class TeamServiceTest {
         when(teamFactory.createNew(teamId, "test team")).thenReturn(team);
         when(teams.add(team)).thenReturn(team);
 
+        when(team.getVersion()).thenReturn(0);
         var result = underTest.createNew("test team");
-        assertEquals(teamId, result);
+        assertEquals(teamId, result.value());
+        assertEquals(0, result.version());
     }
 
     @Test
@@ -62,8 +67,8 @@ class TeamServiceTest {
         Team team = Mockito.mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        var result = underTest.addMember(teamId, "john doe", "tester");
-        assertEquals(memberId, result);
+        var result = underTest.addMember(teamId, ExpectedVersion.ANY, "john doe", "tester");
+        assertEquals(memberId, result.value());
         verify(team).addMember(memberId, "john doe", "tester");
     }
 
@@ -74,7 +79,7 @@ class TeamServiceTest {
         when(IDService.newTeamMemberId()).thenReturn(memberId);
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.addMember(teamId, "john doe", "tester"));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.addMember(teamId, ExpectedVersion.ANY, "john doe", "tester"));
         verifyNoMoreInteractions(teams);
     }
 
@@ -85,7 +90,7 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        underTest.removeMember(teamId, memberId);
+        underTest.removeMember(teamId, ExpectedVersion.ANY, memberId);
         verify(team).removeMember(memberId);
     }
 
@@ -95,7 +100,7 @@ class TeamServiceTest {
         TeamMemberId memberId = getMemberId();
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.removeMember(teamId, memberId));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.removeMember(teamId, ExpectedVersion.ANY, memberId));
     }
 
     @Test
@@ -113,8 +118,8 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        var result = underTest.addTask(teamId, projectTaskId);
-        assertEquals(result, taskId);
+        var result = underTest.addTask(teamId, ExpectedVersion.ANY, projectTaskId);
+        assertEquals(result.value(), taskId);
         verify(team).addTask(taskId, projectTask.projectTaskId(), projectTask.title(), projectTask.description());
     }
 
@@ -125,7 +130,7 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findByOriginalProjectTaskId(projectTaskId.value())).thenReturn(Optional.of(team));
 
-        assertThrows(TaskAlreadyAssignedException.class, () -> underTest.addTask(teamId, projectTaskId));
+        assertThrows(TaskAlreadyAssignedException.class, () -> underTest.addTask(teamId, ExpectedVersion.ANY, projectTaskId));
         verifyNoMoreInteractions(teams);
     }
 
@@ -141,10 +146,21 @@ class TeamServiceTest {
         ProjectTaskSnapshot projectTask = new ProjectTaskSnapshot(projectTaskId, projectId, "do test", "robot framework", TimeEstimation.fromMinutes(10));
         when(project.getTask(projectTaskId)).thenReturn(Optional.of(projectTask));
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.addTask(teamId, projectTaskId));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.addTask(teamId, ExpectedVersion.ANY, projectTaskId));
         verifyNoMoreInteractions(teams);
     }
 
+    @Test
+    void rejectsStaleVersionBeforeLookingUpProjectTask() {
+        TeamId teamId = getTeamId();
+        ProjectTaskId projectTaskId = getProjectTaskId();
+        when(teams.findVersion(teamId.value())).thenReturn(Optional.of(4));
+
+        assertThrows(VersionMismatchException.class, () -> underTest.addTask(teamId, ExpectedVersion.of(3), projectTaskId));
+        verifyNoMoreInteractions(teams);
+        verifyNoInteractions(projects);
+    }
+
     @Test
     void cannotAddTaskToTeamAsUnknownProjectTaskIdGiven() {
         TeamId teamId = getTeamId();
@@ -154,7 +170,7 @@ class TeamServiceTest {
         when(project.getTask(projectTaskId)).thenReturn(Optional.empty());
         when(projects.findByTaskId(projectTaskId.value())).thenReturn(Optional.of(project));
 
-        assertThrows(UnknownProjectTaskIdException.class, () -> underTest.addTask(teamId, projectTaskId));
+        assertThrows(UnknownProjectTaskIdException.class, () -> underTest.addTask(teamId, ExpectedVersion.ANY, projectTaskId));
         verifyNoMoreInteractions(teams);
     }
 
@@ -166,8 +182,58 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        underTest.assignTask(teamId, taskId, memberId);
+        underTest.assignTask(teamId, ExpectedVersion.ANY, taskId, memberId);
+        verify(team).assignTask(taskId, memberId);
+    }
+
+    @Test
+    void assignsTaskWhenExpectedVersionIsCurrent() {
+        TeamId teamId = getTeamId();
+        TeamTaskId taskId = getTaskId();
+        TeamMemberId memberId = getMemberId();
+        Team team = mock(Team.class);
+        when(teams.findVersion(teamId.value())).thenReturn(Optional.of(3));
+        when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
+        when(team.getVersion()).thenReturn(3, 4);
+
+        var result = underTest.assignTask(teamId, ExpectedVersion.of(3), taskId, memberId);
         verify(team).assignTask(taskId, memberId);
+        assertEquals(4, result.version());
+    }
+
+    @Test
+    void rejectsStaleVersionWithoutLoadingTeam() {
+        TeamId teamId = getTeamId();
+        TeamTaskId taskId = getTaskId();
+        TeamMemberId memberId = getMemberId();
+        when(teams.findVersion(teamId.value())).thenReturn(Optional.of(4));
+
+        var thrown = assertThrows(VersionMismatchException.class, () -> underTest.assignTask(teamId, ExpectedVersion.of(3), taskId, memberId));
+        assertEquals(4, thrown.getCurrentVersion());
+        verifyNoMoreInteractions(teams);
+    }
+
+    @Test
+    void rejectsVersionChangedBeforeTeamWasLoaded() {
+        TeamId teamId = getTeamId();
+        TeamTaskId taskId = getTaskId();
+        Team team = mock(Team.class);
+        when(teams.findVersion(teamId.value())).thenReturn(Optional.of(3));
+        when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
+        when(team.getVersion()).thenReturn(4);
+
+        assertThrows(VersionMismatchException.class, () -> underTest.markTaskInProgress(teamId, ExpectedVersion.of(3), taskId));
+        verify(team, never()).markTaskInProgress(taskId);
+    }
+
+    @Test
+    void unknownTeamIdWhenCheckingExpectedVersion() {
+        TeamId teamId = getTeamId();
+        TeamTaskId taskId = getTaskId();
+        when(teams.findVersion(teamId.value())).thenReturn(Optional.empty());
+
+        assertThrows(UnknownTeamIdException.class, () -> underTest.removeTask(teamId, ExpectedVersion.of(3), taskId));
+        verifyNoMoreInteractions(teams);
     }
 
     @Test
@@ -177,7 +243,43 @@ class TeamServiceTest {
         TeamMemberId memberId = getMemberId();
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.assignTask(teamId, taskId, memberId));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.assignTask(teamId, ExpectedVersion.ANY, taskId, memberId));
+    }
+
+    @Test
+    void claimsNextTaskWithoutLoadingTeam() {
+        TeamId teamId = getTeamId();
+        TeamMemberId memberId = getMemberId();
+        TeamTaskId taskId = getTaskId();
+        when(teams.lockMember(teamId.value(), memberId.value())).thenReturn(Optional.of(memberId.value()));
+        when(teams.claimNextUnassignedTask(teamId.value(), memberId.value())).thenReturn(Optional.of(taskId.value()));
+        when(teams.incrementVersion(teamId.value())).thenReturn(7);
+
+        var claimed = underTest.claimNextTask(teamId, memberId).orElseThrow();
+        assertEquals(taskId, claimed.value());
+        assertEquals(7, claimed.version());
+        verify(teams, never()).findById(teamId.value());
+    }
+
+    @Test
+    void claimsNothingWhenEveryTaskIsTaken() {
+        TeamId teamId = getTeamId();
+        TeamMemberId memberId = getMemberId();
+        when(teams.lockMember(teamId.value(), memberId.value())).thenReturn(Optional.of(memberId.value()));
+        when(teams.claimNextUnassignedTask(teamId.value(), memberId.value())).thenReturn(Optional.empty());
+
+        assertTrue(underTest.claimNextTask(teamId, memberId).isEmpty());
+        verify(teams, never()).incrementVersion(teamId.value());
+    }
+
+    @Test
+    void unknownMemberCannotClaimTask() {
+        TeamId teamId = getTeamId();
+        TeamMemberId memberId = getMemberId();
+        when(teams.lockMember(teamId.value(), memberId.value())).thenReturn(Optional.empty());
+
+        assertThrows(UnknownTeamMemberIdException.class, () -> underTest.claimNextTask(teamId, memberId));
+        verifyNoMoreInteractions(teams);
     }
 
     @Test
@@ -187,7 +289,7 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        underTest.markTaskInProgress(teamId, taskId);
+        underTest.markTaskInProgress(teamId, ExpectedVersion.ANY, taskId);
         verify(team).markTaskInProgress(taskId);
     }
 
@@ -197,7 +299,7 @@ class TeamServiceTest {
         TeamTaskId taskId = getTaskId();
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.markTaskInProgress(teamId, taskId));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.markTaskInProgress(teamId, ExpectedVersion.ANY, taskId));
     }
 
     @Test
@@ -207,7 +309,7 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        underTest.unassignTask(teamId, taskId);
+        underTest.unassignTask(teamId, ExpectedVersion.ANY, taskId);
         verify(team).markTaskUnassigned(taskId);
     }
 
@@ -217,7 +319,7 @@ class TeamServiceTest {
         TeamTaskId taskId = getTaskId();
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.unassignTask(teamId, taskId));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.unassignTask(teamId, ExpectedVersion.ANY, taskId));
     }
 
     @Test
@@ -227,7 +329,7 @@ class TeamServiceTest {
         Team team = mock(Team.class);
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
 
-        underTest.removeTask(teamId, taskId);
+        underTest.removeTask(teamId, ExpectedVersion.ANY, taskId);
         verify(team).removeTask(taskId);
     }
 
@@ -237,7 +339,7 @@ class TeamServiceTest {
         TeamTaskId taskId = getTaskId();
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.removeTask(teamId, taskId));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.removeTask(teamId, ExpectedVersion.ANY, taskId));
     }
 
     @Test
@@ -249,7 +351,7 @@ class TeamServiceTest {
         when(teams.findById(teamId.value())).thenReturn(Optional.of(team));
         when(team.getOriginalTaskId(taskId)).thenReturn(Optional.of(projectTaskId));
 
-        underTest.completeTask(teamId, taskId, new tn.demo.jpa.team.controller.ActualSpentTime(10, 0));
+        underTest.completeTask(teamId, ExpectedVersion.ANY, taskId, new tn.demo.jpa.team.controller.ActualSpentTime(10, 0));
         verify(applicationEventPublisher).publishEvent(new TeamTaskCompletedEvent(taskId, projectTaskId, new ActualSpentTime(10, 0)));
         verify(team).markTaskCompleted(taskId, new ActualSpentTime(10, 0));
     }
@@ -260,7 +362,7 @@ class TeamServiceTest {
         TeamTaskId taskId = getTaskId();
         when(teams.findById(teamId.value())).thenReturn(Optional.empty());
 
-        assertThrows(UnknownTeamIdException.class, () -> underTest.completeTask(teamId, taskId, new tn.demo.jpa.team.controller.ActualSpentTime(10, 0)));
+        assertThrows(UnknownTeamIdException.class, () -> underTest.completeTask(teamId, ExpectedVersion.ANY, taskId, new tn.demo.jpa.team.controller.ActualSpentTime(10, 0)));
         verifyNoInteractions(applicationEventPublisher);
         verifyNoMoreInteractions(teams);
     }
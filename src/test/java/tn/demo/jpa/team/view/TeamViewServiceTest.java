@@ -0,0 +1,78 @@
+package tn.demo.jpa.team.view;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamViewServiceTest {
+    @Mock
+    private TeamViewRepository repository;
+
+    private final UUID teamId = UUID.randomUUID();
+    private TeamViewService underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TeamViewService(repository, new SimpleMeterRegistry(), false, 100);
+    }
+
+    @Test
+    void assemblesTeamWithoutMembersOrTasks() {
+        when(repository.findTeam(teamId)).thenReturn(Optional.of(new TeamRow(teamId, "empty team", 0)));
+        when(repository.findMembers(teamId)).thenReturn(List.of());
+        when(repository.findTasks(teamId)).thenReturn(List.of());
+
+        var team = underTest.findById(teamId).orElseThrow();
+
+        assertEquals(0, team.version());
+        assertEquals(teamId, team.value().id());
+        assertEquals("empty team", team.value().name());
+        assertTrue(team.value().members().isEmpty());
+        assertTrue(team.value().tasks().isEmpty());
+        assertEquals(ActualTimeSpent.zero(), team.value().getSumOfActualWorkDone());
+    }
+
+    @Test
+    void assemblesMembersAndTasksWithAndWithoutAssignee() {
+        UUID memberId = UUID.randomUUID();
+        UUID assignedTaskId = UUID.randomUUID();
+        UUID unassignedTaskId = UUID.randomUUID();
+        UUID projectTaskId = UUID.randomUUID();
+        UUID otherProjectTaskId = UUID.randomUUID();
+        when(repository.findTeam(teamId)).thenReturn(Optional.of(new TeamRow(teamId, "team", 7)));
+        when(repository.findMembers(teamId)).thenReturn(List.of(new TeamMemberRow(memberId, "Tapio", "developer")));
+        when(repository.findTasks(teamId)).thenReturn(List.of(
+                new TeamTaskRow(assignedTaskId, "assigned", "done by member", projectTaskId, "COMPLETED", memberId, 1, 30),
+                new TeamTaskRow(unassignedTaskId, "unassigned", "waiting", otherProjectTaskId, "NOT_ASSIGNED", null, null, null)));
+
+        var team = underTest.findById(teamId).orElseThrow();
+
+        assertEquals(7, team.version());
+        assertEquals(List.of(new MemberView(memberId, "Tapio", "developer")), team.value().members());
+        assertEquals(List.of(
+                new TaskView(assignedTaskId, "assigned", "done by member", projectTaskId, "COMPLETED", memberId, new ActualTimeSpent(1, 30)),
+                new TaskView(unassignedTaskId, "unassigned", "waiting", otherProjectTaskId, "NOT_ASSIGNED", null, null)),
+                team.value().tasks());
+        assertEquals(new ActualTimeSpent(1, 30), team.value().getSumOfActualWorkDone());
+    }
+
+    @Test
+    void unknownTeamReadsNoMembersOrTasks() {
+        when(repository.findTeam(teamId)).thenReturn(Optional.empty());
+
+        assertTrue(underTest.findById(teamId).isEmpty());
+        verify(repository, never()).findMembers(teamId);
+        verify(repository, never()).findTasks(teamId);
+    }
+}